@@ -0,0 +1,51 @@
+package com.bookstore.bookstore_app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine-backed cache regions for catalog and user identity reads, each sized by its own
+ * Caffeine spec. Regions are transaction-aware: an eviction issued inside a transaction
+ * is applied after commit, so a concurrent reader cannot re-cache the pre-commit row.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Book detail entities (category fetched) by book ID
+    public static final String BOOKS = "books";
+    // Category lists ('all', 'active') and single categories by ID
+    public static final String CATEGORIES = "categories";
+    // Vendor profiles (user fetched) by the owning user's ID
+    public static final String VENDORS = "vendors";
+    // User identity snapshots by normalized email (see UserIdentityCache)
+    public static final String USER_EMAILS = "userEmails";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.books.spec:maximumSize=10000,expireAfterWrite=10m}") String booksSpec,
+            @Value("${cache.categories.spec:maximumSize=500,expireAfterWrite=1h}") String categoriesSpec,
+            @Value("${cache.vendors.spec:maximumSize=2000,expireAfterWrite=30m}") String vendorsSpec,
+            @Value("${cache.users.spec:maximumSize=50000,expireAfterWrite=5m}") String usersSpec) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                region(BOOKS, booksSpec),
+                region(CATEGORIES, categoriesSpec),
+                region(VENDORS, vendorsSpec),
+                region(USER_EMAILS, usersSpec)));
+        return cacheManager;
+    }
+
+    private static TransactionAwareCacheDecorator region(String name, String spec) {
+        return new TransactionAwareCacheDecorator(
+                new CacheRegion(name, Caffeine.from(spec).recordStats().build()));
+    }
+}
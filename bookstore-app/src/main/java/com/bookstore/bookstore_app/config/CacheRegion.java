@@ -0,0 +1,51 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.dto.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caffeine cache region that also counts explicit invalidations from the service write paths;
+ * Caffeine's own stats only cover size and expiry evictions.
+ */
+public class CacheRegion extends CaffeineCache {
+
+    private final LongAdder invalidations = new LongAdder();
+
+    public CacheRegion(String name, Cache<Object, Object> cache) {
+        super(name, cache, false);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidations.increment();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidations.increment();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        invalidations.increment();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        invalidations.increment();
+        return super.invalidate();
+    }
+
+    public CacheRegionStats stats() {
+        CacheStats stats = getNativeCache().stats();
+        return new CacheRegionStats(getName(), getNativeCache().estimatedSize(), stats.hitCount(),
+                stats.missCount(), stats.hitRate(), stats.evictionCount(), invalidations.sum());
+    }
+}
@@ -0,0 +1,48 @@
+package com.bookstore.bookstore_app.config;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Error appender for the non-blocking Async wrappers in log4j2.xml: receives the events an
+ * appender's queue had no room for and only counts them, keyed by this appender's name.
+ */
+@Plugin(name = "DroppedEvents", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class DroppedEventsAppender extends AbstractAppender {
+
+    private static final Map<String, LongAdder> DROPPED = new ConcurrentHashMap<>();
+
+    private final LongAdder counter;
+
+    private DroppedEventsAppender(String name) {
+        super(name, null, null, true, Property.EMPTY_ARRAY);
+        this.counter = DROPPED.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    @PluginFactory
+    public static DroppedEventsAppender createAppender(@PluginAttribute("name") String name) {
+        return new DroppedEventsAppender(name);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        counter.increment();
+    }
+
+    public static Map<String, Long> counts() {
+        Map<String, Long> counts = new TreeMap<>();
+        DROPPED.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,63 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves each table generator past the IDs already in its table. Databases created while these
+ * entities used IDENTITY columns have rows but no id_generators entry, and Hibernate would start
+ * handing out IDs from 1. Runs once the EntityManagerFactory (and so the schema update) is ready,
+ * before any request can insert; it only ever raises a generator.
+ */
+@Component
+public class IdGeneratorSeeder {
+
+    private static final Logger logger = LogManager.getLogger(IdGeneratorSeeder.class);
+
+    // pkColumnValue of each @TableGenerator, which is also the entity's table name
+    static final List<String> TABLES = List.of("books", "cart_items", "orders", "order_items", "reviews", "outbox_events");
+
+    private static final String SELECT_SQL =
+            "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+    private static final String UPDATE_SQL =
+            "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE "
+                    + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    // Only injected so the schema exists before seeding
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seed() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            // The pooled optimizer hands out (value - ALLOCATION_SIZE, value] for a stored value
+            long floor = maxId + IdGenerators.ALLOCATION_SIZE + 1;
+            List<Long> current = jdbcTemplate.queryForList(SELECT_SQL, Long.class, table);
+            if (current.isEmpty()) {
+                jdbcTemplate.update(INSERT_SQL, table, floor);
+            } else if (current.get(0) < floor) {
+                jdbcTemplate.update(UPDATE_SQL, floor, table, floor);
+            } else {
+                continue;
+            }
+            logger.info("Moved ID generator for {} past existing ID {}", table, maxId);
+        }
+    }
+}
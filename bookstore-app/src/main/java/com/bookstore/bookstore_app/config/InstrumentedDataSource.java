@@ -0,0 +1,160 @@
+package com.bookstore.bookstore_app.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the connection pool so every statement run on a request thread, through Hibernate or
+ * JdbcTemplate alike, is counted and timed in the current {@link RequestMetrics.Sample}, along
+ * with the rows read from its result sets. Outside a request the wrappers pass straight through.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements Closeable {
+
+    public InstrumentedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    // Lets the context shut the pool down through the wrapper
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        protected final Object target;
+
+        private Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented[" + target + "]";
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        protected abstract Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class ConnectionHandler extends Handler {
+
+        private ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement/prepareCall carry their SQL up front; createStatement passes it to execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends Handler {
+        private final String sql;
+
+        private StatementHandler(Statement target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            RequestMetrics.Sample sample = RequestMetrics.current();
+            if (sample == null) {
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = InstrumentedDataSource.invoke(target, method, args);
+                } finally {
+                    sample.statementExecuted(statementSql(args), System.nanoTime() - start);
+                }
+                return result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            return name.equals("getResultSet") && result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+        }
+
+        private String statementSql(Object[] args) {
+            if (sql != null) {
+                return sql;
+            }
+            return args != null && args.length > 0 && args[0] instanceof String text ? text : "<batch>";
+        }
+
+        private static ResultSet wrap(ResultSet resultSet) {
+            return proxy(ResultSet.class, new ResultSetHandler(resultSet));
+        }
+    }
+
+    private static final class ResultSetHandler extends Handler {
+
+        private ResultSetHandler(ResultSet target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                RequestMetrics.Sample sample = RequestMetrics.current();
+                if (sample != null) {
+                    sample.rowFetched();
+                }
+            }
+            return result;
+        }
+    }
+}
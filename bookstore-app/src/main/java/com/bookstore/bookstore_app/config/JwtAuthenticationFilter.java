@@ -28,39 +28,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String requestPath = request.getRequestURI();
-        logger.info("JWT Filter processing: {} {}", request.getMethod(), requestPath);
+        logger.debug("JWT Filter processing: {} {}", request.getMethod(), requestPath);
 
         if (isPublicEndpoint(requestPath)) {
-            logger.info("Skipping JWT validation for public endpoint: {}", requestPath);
+            logger.debug("Skipping JWT validation for public endpoint: {}", requestPath);
             filterChain.doFilter(request, response);
             return;
         }
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String email = null;
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            email = jwtUtil.getEmailFromToken(token);
-            logger.info("Extracted email from token: {}", email);
-        } else {
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.warn("No Authorization header found or invalid format");
-        }
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
+            // One signature check (or a cache hit) yields every claim we need
+            JwtPrincipal principal = jwtUtil.verifyToken(token);
 
-                // Get role from token
-                User.Role role = jwtUtil.getRoleFromToken(token);
-                Long userId = jwtUtil.getUserIdFromToken(token);
+            if (principal != null && principal.getEmail() != null) {
+                String email = principal.getEmail();
+                User.Role role = principal.getRole();
+                Long userId = principal.getUserId();
 
-                logger.info("Token valid for user: {} with role: {} and ID: {}", email, role, userId);
+                logger.debug("Token valid for user: {} with role: {} and ID: {}", email, role, userId);
 
                 // Create authority based on role
                 SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role.name());
 
-                // Create authentication token
                 // Create JWT authentication token with userId and role
                 JwtAuthenticationToken authToken = new JwtAuthenticationToken(
                         email,
@@ -73,9 +68,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                logger.info("Authentication successful for user: {} with role: {}", email, role);
+                logger.debug("Authentication successful for user: {} with role: {}", email, role);
             } else {
-                logger.warn("Invalid or expired token for user: {}", email);
+                logger.warn("Invalid or expired token");
             }
         }
 
@@ -89,10 +84,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 requestPath.equals("/api/auth/login") ||
                 requestPath.equals("/api/auth/forgot-password") ||
                 requestPath.equals("/api/books/all") ||
+                requestPath.equals("/api/books/search") ||
                 requestPath.startsWith("/api/books/search/") ||
                 requestPath.startsWith("/api/books/paginated") ||
+                requestPath.equals("/api/books/cursor") ||
                 requestPath.startsWith("/api/books/sort/") ||
                 requestPath.startsWith("/api/books/new-arrivals") ||
+                requestPath.matches("/api/books/\\d+") ||
+                requestPath.matches("/api/books/\\d+/reviews") ||
                 requestPath.startsWith("/error") ||
                 requestPath.equals("/");
     }
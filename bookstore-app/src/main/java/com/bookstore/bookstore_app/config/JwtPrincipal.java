@@ -0,0 +1,45 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.entity.User;
+
+import java.util.Date;
+
+// Immutable result of a single verify-and-extract pass over a JWT
+public final class JwtPrincipal {
+
+    private final String email;
+    private final Long userId;
+    private final User.Role role;
+    private final long expiresAtMillis;
+
+    public JwtPrincipal(String email, Long userId, User.Role role, long expiresAtMillis) {
+        this.email = email;
+        this.userId = userId;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getEmail() { return email; }
+
+    public Long getUserId() { return userId; }
+
+    public User.Role getRole() { return role; }
+
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public Date getExpiration() { return new Date(expiresAtMillis); }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{" +
+                "email='" + email + '\'' +
+                ", userId=" + userId +
+                ", role=" + role +
+                ", expiresAtMillis=" + expiresAtMillis +
+                '}';
+    }
+}
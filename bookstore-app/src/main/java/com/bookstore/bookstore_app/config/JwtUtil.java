@@ -16,14 +16,22 @@ public class JwtUtil {
 
     private static final Logger logger = LogManager.getLogger(JwtUtil.class);
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private final Long expiration;
+
+    // Key and parser are immutable once the secret is known, so build them once
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.tokenCache = new VerifiedTokenCache(cacheMaxEntries);
     }
 
     // Enhanced method with role support
@@ -36,7 +44,7 @@ public class JwtUtil {
                 .claim("userId", userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -47,9 +55,7 @@ public class JwtUtil {
 
     public String getEmailFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            return parser
                     .parseClaimsJws(token)
                     .getBody()
                     .getSubject();
@@ -61,9 +67,7 @@ public class JwtUtil {
 
     public User.Role getRoleFromToken(String token) {
         try {
-            String role = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            String role = parser
                     .parseClaimsJws(token)
                     .getBody()
                     .get("role", String.class);
@@ -77,19 +81,12 @@ public class JwtUtil {
 
     public Long getUserIdFromToken(String token) {
         try {
-            Object userIdClaim = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            Object userIdClaim = parser
                     .parseClaimsJws(token)
                     .getBody()
                     .get("userId");
 
-            if (userIdClaim instanceof Integer) {
-                return ((Integer) userIdClaim).longValue();
-            } else if (userIdClaim instanceof Long) {
-                return (Long) userIdClaim;
-            }
-            return null;
+            return toUserId(userIdClaim);
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Error extracting userId from token: {}", e.getMessage());
             return null;
@@ -98,10 +95,7 @@ public class JwtUtil {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (ExpiredJwtException e) {
             logger.warn("JWT token is expired: {}", e.getMessage());
@@ -123,9 +117,7 @@ public class JwtUtil {
 
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            Date expiration = parser
                     .parseClaimsJws(token)
                     .getBody()
                     .getExpiration();
@@ -138,9 +130,7 @@ public class JwtUtil {
 
     public Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            return parser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (JwtException | IllegalArgumentException e) {
@@ -148,4 +138,63 @@ public class JwtUtil {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies the signature and expiry once and extracts every claim the filter needs.
+     * Recently verified tokens are served from a bounded cache so repeat requests skip the HMAC.
+     *
+     * @return the principal, or null if the token is invalid or expired
+     */
+    public JwtPrincipal verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        JwtPrincipal cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtPrincipal principal = parseToken(token);
+        if (principal != null) {
+            tokenCache.put(token, principal);
+        }
+        return principal;
+    }
+
+    // Single uncached parse: one signature check, all claims read from the same body
+    public JwtPrincipal parseToken(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+
+            Date expirationDate = claims.getExpiration();
+            if (expirationDate == null || expirationDate.before(new Date())) {
+                logger.warn("JWT token has no expiration or is expired");
+                return null;
+            }
+
+            String role = claims.get("role", String.class);
+            return new JwtPrincipal(
+                    claims.getSubject(),
+                    toUserId(claims.get("userId")),
+                    role != null ? User.Role.valueOf(role) : User.Role.USER,
+                    expirationDate.getTime()
+            );
+        } catch (ExpiredJwtException e) {
+            logger.warn("JWT token is expired: {}", e.getMessage());
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("JWT token rejected: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Long toUserId(Object userIdClaim) {
+        if (userIdClaim instanceof Integer) {
+            return ((Integer) userIdClaim).longValue();
+        } else if (userIdClaim instanceof Long) {
+            return (Long) userIdClaim;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bookstore.bookstore_app.config;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What a request thread does when the async logging ring buffer is full: events at or below
+ * log4j2.discardThreshold are dropped and counted, anything more severe waits for space.
+ * Log4j instantiates this itself (see log4j2.component.properties), so the count is static.
+ */
+public class LogQueueFullPolicy extends DiscardingAsyncQueueFullPolicy {
+
+    private static final LongAdder DISCARDED = new LongAdder();
+
+    public LogQueueFullPolicy() {
+        super(Level.toLevel(PropertiesUtil.getProperties().getStringProperty("log4j2.discardThreshold"), Level.INFO));
+    }
+
+    @Override
+    public EventRoute getRoute(long backgroundThreadId, Level level) {
+        EventRoute route = super.getRoute(backgroundThreadId, level);
+        if (route == EventRoute.DISCARD) {
+            DISCARDED.increment();
+        }
+        return route;
+    }
+
+    public static long discarded() {
+        return DISCARDED.sum();
+    }
+}
@@ -0,0 +1,28 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.dto.LoggingStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports how the logging pipeline is keeping up: ring buffer occupancy and the events dropped
+ * by {@link LogQueueFullPolicy} and by the per-appender {@link DroppedEventsAppender}s.
+ */
+@Component
+public class LoggingMonitor {
+
+    public LoggingStats stats() {
+        long size = 0;
+        long remaining = 0;
+        String mode = "sync";
+        if (LogManager.getContext(false) instanceof AsyncLoggerContext context) {
+            RingBufferAdmin ringBuffer = context.createRingBufferAdmin();
+            mode = "async";
+            size = ringBuffer.getBufferSize();
+            remaining = ringBuffer.getRemainingCapacity();
+        }
+        return new LoggingStats(mode, size, remaining, LogQueueFullPolicy.discarded(), DroppedEventsAppender.counts());
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.dto.ThreadingStats;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts virtual threads that stayed pinned to their carrier longer than the threshold, using
+ * the JFR {@code jdk.VirtualThreadPinned} event. Pinning happens when a virtual thread blocks
+ * inside a {@code synchronized} block or native frame, which is what older JDBC drivers and
+ * pools do on every call; each event is attributed to its innermost application-level frame.
+ * Only runs in virtual-thread mode.
+ */
+@Component
+public class PinnedThreadMonitor {
+
+    private static final Logger logger = LogManager.getLogger(PinnedThreadMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 10;
+
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final LongAccumulator maxPinnedNanos = new LongAccumulator(Math::max, 0);
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    @Value("${app.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${app.threads.pinned-threshold-ms:20}")
+    private long thresholdMs = 20;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!virtualThreadsEnabled || stream != null) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Watching for virtual threads pinned longer than {} ms", thresholdMs);
+        } catch (Exception e) {
+            logger.warn("Pinned thread monitoring unavailable - Error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    public ThreadingStats stats() {
+        Map<String, Long> sites = new LinkedHashMap<>();
+        pinnedBySite.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(MAX_REPORTED_SITES)
+                .forEach(entry -> sites.put(entry.getKey(), entry.getValue().sum()));
+        return new ThreadingStats(virtualThreadsEnabled ? "virtual" : "platform", pinnedEvents.sum(),
+                Duration.ofNanos(pinnedNanos.sum()).toMillis(), Duration.ofNanos(maxPinnedNanos.get()).toMillis(),
+                sites);
+    }
+
+    void record(String site, Duration pinnedFor) {
+        long nanos = pinnedFor.toNanos();
+        pinnedEvents.increment();
+        pinnedNanos.add(nanos);
+        maxPinnedNanos.accumulate(nanos);
+        pinnedBySite.computeIfAbsent(site, key -> new LongAdder()).increment();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = siteOf(event.getStackTrace());
+        record(site, event.getDuration());
+        logger.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+    }
+
+    // Skips JDK frames so the site names the driver, pool or application code holding the monitor
+    private static String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+}
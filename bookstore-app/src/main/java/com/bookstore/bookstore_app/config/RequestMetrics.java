@@ -0,0 +1,215 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.dto.EndpointMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-endpoint request statistics: wall time, SQL statements, time inside JDBC and rows read,
+ * each request measured by {@link RequestMetricsFilter} and the statements counted by
+ * {@link InstrumentedDataSource} on the request thread. Requests over the slow or statement
+ * thresholds are logged with their heaviest query fingerprints.
+ */
+@Component
+public class RequestMetrics {
+
+    private static final Logger logger = LogManager.getLogger(RequestMetrics.class);
+
+    static final long[] LATENCY_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+    static final long[] STATEMENT_BOUNDS = {0, 1, 2, 5, 10, 20, 50, 100};
+
+    // Distinct SQL strings tracked per request; anything beyond still counts toward the totals
+    private static final int MAX_TRACKED_SQL = 200;
+    private static final int LOGGED_FINGERPRINTS = 5;
+    private static final int FINGERPRINT_LENGTH = 160;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Sample> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, EndpointRecorder> endpoints = new ConcurrentHashMap<>();
+
+    @Value("${metrics.requests.slow-ms:500}")
+    private long slowMs = 500;
+
+    @Value("${metrics.requests.max-statements:50}")
+    private int maxStatements = 50;
+
+    // The request being measured on this thread, or null outside one
+    static Sample current() {
+        return CURRENT.get();
+    }
+
+    Sample begin() {
+        Sample sample = new Sample(System.nanoTime());
+        CURRENT.set(sample);
+        return sample;
+    }
+
+    void end(Sample sample, String endpoint, int status) {
+        CURRENT.remove();
+        long wallNanos = System.nanoTime() - sample.startNanos;
+        endpoints.computeIfAbsent(endpoint, EndpointRecorder::new).record(wallNanos, sample, status);
+
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(wallNanos);
+        if (wallMs >= slowMs || sample.statements > maxStatements) {
+            logger.warn("Slow request - {} (status {}): {} ms, {} SQL statements, {} ms in JDBC, {} rows; top queries: {}",
+                    endpoint, status, wallMs, sample.statements, TimeUnit.NANOSECONDS.toMillis(sample.jdbcNanos),
+                    sample.rows, topQueries(sample));
+        }
+    }
+
+    public List<EndpointMetrics> snapshot() {
+        return endpoints.values().stream()
+                .map(EndpointRecorder::toMetrics)
+                .sorted(Comparator.comparingDouble((EndpointMetrics m) -> m.getAvgMs() * m.getRequests()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Normalizes a statement so that executions differing only in literal values group together.
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+        return normalized.length() <= FINGERPRINT_LENGTH ? normalized : normalized.substring(0, FINGERPRINT_LENGTH) + "...";
+    }
+
+    private static String topQueries(Sample sample) {
+        Map<String, long[]> byFingerprint = new HashMap<>();
+        sample.bySql.forEach((sql, stat) -> {
+            long[] total = byFingerprint.computeIfAbsent(fingerprint(sql), key -> new long[2]);
+            total[0] += stat[0];
+            total[1] += stat[1];
+        });
+        return byFingerprint.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                .limit(LOGGED_FINGERPRINTS)
+                .map(e -> "[x" + e.getValue()[0] + ", " + TimeUnit.NANOSECONDS.toMillis(e.getValue()[1]) + " ms] " + e.getKey())
+                .collect(Collectors.joining(" | "));
+    }
+
+    private static int bucket(long[] bounds, long value) {
+        for (int i = 0; i < bounds.length; i++) {
+            if (value <= bounds[i]) {
+                return i;
+            }
+        }
+        return bounds.length;
+    }
+
+    private static Map<String, Long> histogram(long[] bounds, AtomicLongArray counts) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < bounds.length; i++) {
+            histogram.put(String.valueOf(bounds[i]), counts.get(i));
+        }
+        histogram.put("+Inf", counts.get(bounds.length));
+        return histogram;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * What one request has done so far. Only touched by the request's own thread.
+     */
+    static final class Sample {
+        private final long startNanos;
+        private int statements;
+        private long jdbcNanos;
+        private long rows;
+        // SQL text -> {executions, nanos}
+        private final Map<String, long[]> bySql = new HashMap<>();
+
+        private Sample(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void statementExecuted(String sql, long nanos) {
+            statements++;
+            jdbcNanos += nanos;
+            long[] stat = bySql.get(sql);
+            if (stat == null && bySql.size() < MAX_TRACKED_SQL) {
+                stat = new long[2];
+                bySql.put(sql, stat);
+            }
+            if (stat != null) {
+                stat[0]++;
+                stat[1] += nanos;
+            }
+        }
+
+        void rowFetched() {
+            rows++;
+        }
+    }
+
+    private static final class EndpointRecorder {
+        private final String endpoint;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final AtomicLong maxWallNanos = new AtomicLong();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final AtomicLongArray latencyCounts = new AtomicLongArray(LATENCY_BOUNDS_MS.length + 1);
+        private final AtomicLongArray statementCounts = new AtomicLongArray(STATEMENT_BOUNDS.length + 1);
+
+        private EndpointRecorder(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void record(long nanos, Sample sample, int status) {
+            requests.increment();
+            if (status >= 500) {
+                serverErrors.increment();
+            }
+            wallNanos.add(nanos);
+            maxWallNanos.accumulateAndGet(nanos, Math::max);
+            statements.add(sample.statements);
+            jdbcNanos.add(sample.jdbcNanos);
+            rows.add(sample.rows);
+            latencyCounts.incrementAndGet(bucket(LATENCY_BOUNDS_MS, TimeUnit.NANOSECONDS.toMillis(nanos)));
+            statementCounts.incrementAndGet(bucket(STATEMENT_BOUNDS, sample.statements));
+        }
+
+        private EndpointMetrics toMetrics() {
+            long count = requests.sum();
+            EndpointMetrics metrics = new EndpointMetrics();
+            metrics.setEndpoint(endpoint);
+            metrics.setRequests(count);
+            metrics.setServerErrors(serverErrors.sum());
+            metrics.setAvgMs(count > 0 ? millis(wallNanos.sum() / count) : 0);
+            metrics.setMaxMs(millis(maxWallNanos.get()));
+            metrics.setSqlStatements(statements.sum());
+            metrics.setAvgStatements(count > 0 ? Math.round(statements.sum() * 100.0 / count) / 100.0 : 0);
+            metrics.setJdbcMs(millis(jdbcNanos.sum()));
+            metrics.setRowsFetched(rows.sum());
+            metrics.setLatencyMsHistogram(histogram(LATENCY_BOUNDS_MS, latencyCounts));
+            metrics.setStatementHistogram(histogram(STATEMENT_BOUNDS, statementCounts));
+            return metrics;
+        }
+    }
+}
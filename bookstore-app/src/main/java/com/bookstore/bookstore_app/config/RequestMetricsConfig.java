@@ -0,0 +1,43 @@
+package com.bookstore.bookstore_app.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Turns on request instrumentation (see {@link RequestMetrics}); results are served at
+ * GET /api/admin/requests/stats. Off unless metrics.requests.enabled=true: the JDBC wrappers put
+ * a reflective proxy call in front of every statement and result set call, which is fine while
+ * profiling but not something to pay for on every production request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.requests.enabled", havingValue = "true")
+public class RequestMetricsConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(RequestMetrics requestMetrics) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(requestMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Static so it is registered before the DataSource bean is created
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
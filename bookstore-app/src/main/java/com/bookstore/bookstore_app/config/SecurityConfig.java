@@ -1,7 +1,11 @@
 package com.bookstore.bookstore_app.config;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -21,9 +25,42 @@ import java.util.Arrays;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    private static final Logger logger = LogManager.getLogger(SecurityConfig.class);
+
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
+    @Value("${auth.bcrypt.strength:10}")
+    private int bcryptStrength = 10;
+
+    @Value("${auth.bcrypt.target-ms:0}")
+    private long bcryptTargetMs = 0;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength(bcryptStrength, bcryptTargetMs));
+    }
+
+    /**
+     * The configured cost, raised while one hash at the next cost would still finish within
+     * targetMs on this machine. Each step doubles the work, so one timed hash is enough.
+     */
+    static int bcryptStrength(int floor, long targetMs) {
+        if (targetMs <= 0) {
+            return floor;
+        }
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(floor);
+        encoder.encode("calibration");
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int strength = floor;
+        while (strength < MAX_BCRYPT_STRENGTH && millis * 2 <= targetMs) {
+            strength++;
+            millis *= 2;
+        }
+        logger.info("BCrypt cost set to {} (about {} ms per hash, target {} ms)", strength, Math.round(millis), targetMs);
+        return strength;
     }
 
     @Bean
@@ -38,10 +75,14 @@ public class SecurityConfig {
                         //  Public endpoints - no authentication required
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/books/all").permitAll()
+                        .requestMatchers("/api/books/search").permitAll()
                         .requestMatchers("/api/books/search/**").permitAll()
                         .requestMatchers("/api/books/paginated").permitAll()
+                        .requestMatchers("/api/books/cursor").permitAll()
                         .requestMatchers("/api/books/sort/**").permitAll()
                         .requestMatchers("/api/books/new-arrivals").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/books/{id:\\d+}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/books/{id:\\d+}/reviews").permitAll()
                         .requestMatchers("/error").permitAll()
 
                         //  Allow Swagger UI access
@@ -0,0 +1,75 @@
+package com.bookstore.bookstore_app.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been checked.
+ * Entries are keyed by a SHA-256 digest of the raw token (so raw tokens are never retained)
+ * and are dropped as soon as the token expires.
+ */
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<String, JwtPrincipal> entries = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public JwtPrincipal get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        JwtPrincipal principal = entries.get(key);
+        if (principal != null && principal.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, principal);
+            return null;
+        }
+        return principal;
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            // Still full: drop arbitrary entries rather than grow past the bound
+            Iterator<String> it = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        entries.put(digest(token), principal);
+    }
+
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(principal -> principal.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.bookstore.bookstore_app.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual-thread executors without compiling against Java 21, so the default Java 17
+ * build and the {@code java21} profile share one source tree. On a Java 17 runtime
+ * {@link #isSupported()} is false and asking for an executor fails fast.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle NEW_PER_TASK_EXECUTOR = findPerTaskExecutorFactory();
+
+    private VirtualThreads() {}
+
+    public static boolean isSupported() {
+        return NEW_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Executor that starts a new virtual thread for every task.
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        if (NEW_PER_TASK_EXECUTOR == null) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime; running on Java "
+                    + Runtime.version().feature());
+        }
+        try {
+            return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    private static MethodHandle findPerTaskExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
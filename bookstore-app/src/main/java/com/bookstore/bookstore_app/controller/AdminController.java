@@ -1,14 +1,30 @@
 package com.bookstore.bookstore_app.controller;
 
+import com.bookstore.bookstore_app.config.JwtAuthenticationToken;
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
 import com.bookstore.bookstore_app.dto.ApiResponse;
+import com.bookstore.bookstore_app.dto.CacheRegionStats;
+import com.bookstore.bookstore_app.dto.EndpointMetrics;
+import com.bookstore.bookstore_app.dto.LoggingStats;
+import com.bookstore.bookstore_app.dto.ReviewModerationRequest;
+import com.bookstore.bookstore_app.dto.ReviewSummary;
+import com.bookstore.bookstore_app.dto.ThreadingStats;
 import com.bookstore.bookstore_app.entity.*;
+import com.bookstore.bookstore_app.service.AdminExportService;
 import com.bookstore.bookstore_app.service.AdminService;
+import com.bookstore.bookstore_app.service.ReviewService;
+import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +38,12 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private AdminExportService adminExportService;
+
+    @Autowired
+    private ReviewService reviewService;
+
     @PutMapping("/books/{bookId}/approve")
     public ResponseEntity<ApiResponse<Book>> approveBook(@PathVariable Long bookId) {
         logger.info("PUT /api/admin/books/{}/approve - Approving book", bookId);
@@ -64,12 +86,46 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/reviews/queue/claim")
+    public ResponseEntity<ApiResponse<List<ReviewSummary>>> claimPendingReviews(
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        logger.info("POST /api/admin/reviews/queue/claim - Size: {}", size);
+
+        try {
+            List<ReviewSummary> reviews = reviewService.claimPendingReviews(getUserIdFromAuth(authentication), size);
+            logger.info("Claimed {} pending reviews via API", reviews.size());
+            return ResponseEntity.ok(ApiResponse.success("Pending reviews claimed", reviews));
+        } catch (Exception e) {
+            logger.error("Error claiming pending reviews via API - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reviews/moderate")
+    public ResponseEntity<ApiResponse<Integer>> moderateReviews(
+            @Valid @RequestBody ReviewModerationRequest request,
+            Authentication authentication) {
+        logger.info("POST /api/admin/reviews/moderate - {} reviews, Approved: {}",
+                request.getReviewIds().size(), request.getApproved());
+
+        try {
+            int moderated = reviewService.moderateReviews(getUserIdFromAuth(authentication),
+                    request.getReviewIds(), request.getApproved());
+            logger.info("Moderated {} reviews via API", moderated);
+            return ResponseEntity.ok(ApiResponse.success(request.getApproved() ? "Reviews approved" : "Reviews rejected", moderated));
+        } catch (Exception e) {
+            logger.error("Error moderating reviews via API - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/books/pending")
-    public ResponseEntity<ApiResponse<List<Book>>> getPendingBooks() {
+    public ResponseEntity<ApiResponse<List<AdminBookSummary>>> getPendingBooks() {
         logger.info("GET /api/admin/books/pending - Fetching pending books");
 
         try {
-            List<Book> books = adminService.getPendingBooks();
+            List<AdminBookSummary> books = adminService.getPendingBooks();
             logger.info("Retrieved {} pending books via API", books.size());
             return ResponseEntity.ok(ApiResponse.success("Pending books retrieved", books));
         } catch (Exception e) {
@@ -79,11 +135,11 @@ public class AdminController {
     }
 
     @GetMapping("/books/all")
-    public ResponseEntity<ApiResponse<List<Book>>> getAllBooks() {
+    public ResponseEntity<ApiResponse<List<AdminBookSummary>>> getAllBooks() {
         logger.info("GET /api/admin/books/all - Admin fetching all books");
 
         try {
-            List<Book> books = adminService.getAllBooks();
+            List<AdminBookSummary> books = adminService.getAllBooks();
             logger.info("Admin retrieved {} books via API", books.size());
             return ResponseEntity.ok(ApiResponse.success("All books retrieved", books));
         } catch (Exception e) {
@@ -166,6 +222,64 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<List<CacheRegionStats>>> getCacheStats() {
+        logger.info("GET /api/admin/cache/stats - Fetching cache region statistics");
+
+        try {
+            List<CacheRegionStats> stats = adminService.getCacheStats();
+            logger.info("Retrieved statistics for {} cache regions via API", stats.size());
+            return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved", stats));
+        } catch (Exception e) {
+            logger.error("Error fetching cache statistics via API - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/threads/stats")
+    public ResponseEntity<ApiResponse<ThreadingStats>> getThreadingStats() {
+        logger.info("GET /api/admin/threads/stats - Fetching threading statistics");
+
+        try {
+            ThreadingStats stats = adminService.getThreadingStats();
+            logger.info("Threading statistics retrieved - Mode: {}, Pinned events: {}",
+                    stats.getMode(), stats.getPinnedEvents());
+            return ResponseEntity.ok(ApiResponse.success("Threading statistics retrieved", stats));
+        } catch (Exception e) {
+            logger.error("Error fetching threading statistics via API - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/requests/stats")
+    public ResponseEntity<ApiResponse<List<EndpointMetrics>>> getRequestStats() {
+        logger.info("GET /api/admin/requests/stats - Fetching per-endpoint request statistics");
+
+        try {
+            List<EndpointMetrics> stats = adminService.getRequestStats();
+            logger.info("Retrieved request statistics for {} endpoints via API", stats.size());
+            return ResponseEntity.ok(ApiResponse.success("Request statistics retrieved", stats));
+        } catch (Exception e) {
+            logger.error("Error fetching request statistics via API - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/logging/stats")
+    public ResponseEntity<ApiResponse<LoggingStats>> getLoggingStats() {
+        logger.info("GET /api/admin/logging/stats - Fetching logging pipeline statistics");
+
+        try {
+            LoggingStats stats = adminService.getLoggingStats();
+            logger.info("Retrieved logging statistics via API - Mode: {}, Discarded: {}",
+                    stats.getMode(), stats.getRingBufferDiscarded());
+            return ResponseEntity.ok(ApiResponse.success("Logging statistics retrieved", stats));
+        } catch (Exception e) {
+            logger.error("Error fetching logging statistics via API - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<List<User>>> getAllUsers() {
         logger.info("GET /api/admin/users - Fetching all users");
@@ -194,6 +308,26 @@ public class AdminController {
         }
     }
 
+    // Streaming NDJSON exports: constant memory regardless of table size
+
+    @GetMapping(value = "/export/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        logger.info("GET /api/admin/export/users - Streaming user export");
+        streamExport(response, "users.ndjson", adminExportService::exportUsers);
+    }
+
+    @GetMapping(value = "/export/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportOrders(HttpServletResponse response) throws IOException {
+        logger.info("GET /api/admin/export/orders - Streaming order export");
+        streamExport(response, "orders.ndjson", adminExportService::exportOrders);
+    }
+
+    @GetMapping(value = "/export/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportBooks(HttpServletResponse response) throws IOException {
+        logger.info("GET /api/admin/export/books - Streaming book export");
+        streamExport(response, "books.ndjson", adminExportService::exportBooks);
+    }
+
     @PutMapping("/users/{userId}/role")
     public ResponseEntity<ApiResponse<User>> updateUserRole(
             @PathVariable Long userId,
@@ -210,4 +344,36 @@ public class AdminController {
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    private void streamExport(HttpServletResponse response, String fileName, NdjsonExport export) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        try {
+            long count = export.writeTo(response.getOutputStream());
+            logger.info("Export {} streamed {} records", fileName, count);
+        } catch (Exception e) {
+            logger.error("Error streaming export {} - Error: {}", fileName, e.getMessage(), e);
+            // Once rows have been sent the client just sees a truncated stream
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface NdjsonExport {
+        long writeTo(OutputStream out) throws IOException;
+    }
+
+    // Helper method to extract user ID from JWT authentication
+    private Long getUserIdFromAuth(Authentication authentication) {
+        if (authentication instanceof JwtAuthenticationToken) {
+            JwtAuthenticationToken jwtAuth = (JwtAuthenticationToken) authentication;
+            return jwtAuth.getUserId();
+        }
+        throw new RuntimeException("Invalid authentication token");
+    }
+}
@@ -1,8 +1,14 @@
 package com.bookstore.bookstore_app.controller;
 
 import com.bookstore.bookstore_app.dto.ApiResponse;
+import com.bookstore.bookstore_app.dto.BookSearchResult;
+import com.bookstore.bookstore_app.dto.BookSummary;
+import com.bookstore.bookstore_app.dto.CursorPage;
+import com.bookstore.bookstore_app.dto.ReviewSummary;
+import com.bookstore.bookstore_app.service.BookCursor;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.service.BookService;
+import com.bookstore.bookstore_app.service.ReviewService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +29,9 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @PostMapping("/add")
     public ResponseEntity<ApiResponse<Book>> addBook(@RequestBody Book book) {
         logger.info("POST /api/books/add - Adding new book: {}", book.getTitle());
@@ -38,11 +47,11 @@ public class BookController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<Book>>> getAllBooks() {
+    public ResponseEntity<ApiResponse<List<BookSummary>>> getAllBooks() {
         logger.info("GET /api/books/all - Fetching all books");
         
         try {
-            List<Book> books = bookService.getAllBooks();
+            List<BookSummary> books = bookService.getAllBooks();
             logger.info("API returned {} books", books.size());
             return ResponseEntity.ok(ApiResponse.success("Books retrieved successfully", books));
         } catch (Exception e) {
@@ -51,12 +60,28 @@ public class BookController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<BookSearchResult>>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("GET /api/books/search - Searching catalog for: {}", q);
+
+        try {
+            List<BookSearchResult> results = bookService.searchCatalog(q, Math.min(Math.max(limit, 1), 100));
+            logger.info("API catalog search returned {} books for: {}", results.size(), q);
+            return ResponseEntity.ok(ApiResponse.success("Books found", results));
+        } catch (Exception e) {
+            logger.error("Error searching catalog: {} - Error: {}", q, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/search/title")
-    public ResponseEntity<ApiResponse<List<Book>>> searchByTitle(@RequestParam String title) {
+    public ResponseEntity<ApiResponse<List<BookSummary>>> searchByTitle(@RequestParam String title) {
         logger.info("GET /api/books/search/title - Searching by title: {}", title);
         
         try {
-            List<Book> books = bookService.searchByTitle(title);
+            List<BookSummary> books = bookService.searchByTitle(title);
             logger.info("API search by title returned {} books for: {}", books.size(), title);
             return ResponseEntity.ok(ApiResponse.success("Books found", books));
         } catch (Exception e) {
@@ -66,11 +91,11 @@ public class BookController {
     }
 
     @GetMapping("/search/author")
-    public ResponseEntity<ApiResponse<List<Book>>> searchByAuthor(@RequestParam String author) {
+    public ResponseEntity<ApiResponse<List<BookSummary>>> searchByAuthor(@RequestParam String author) {
         logger.info("GET /api/books/search/author - Searching by author: {}", author);
         
         try {
-            List<Book> books = bookService.searchByAuthor(author);
+            List<BookSummary> books = bookService.searchByAuthor(author);
             logger.info("API search by author returned {} books for: {}", books.size(), author);
             return ResponseEntity.ok(ApiResponse.success("Books found", books));
         } catch (Exception e) {
@@ -80,11 +105,11 @@ public class BookController {
     }
 
     @GetMapping("/search/rating")
-    public ResponseEntity<ApiResponse<List<Book>>> searchByRating(@RequestParam Double rating) {
+    public ResponseEntity<ApiResponse<List<BookSummary>>> searchByRating(@RequestParam Double rating) {
         logger.info("GET /api/books/search/rating - Searching by rating >= {}", rating);
         
         try {
-            List<Book> books = bookService.searchByRating(rating);
+            List<BookSummary> books = bookService.searchByRating(rating);
             logger.info("API search by rating returned {} books with rating >= {}", books.size(), rating);
             return ResponseEntity.ok(ApiResponse.success("Books found", books));
         } catch (Exception e) {
@@ -94,13 +119,13 @@ public class BookController {
     }
 
     @GetMapping("/paginated")
-    public ResponseEntity<ApiResponse<Page<Book>>> getBooksWithPagination(
+    public ResponseEntity<ApiResponse<Page<BookSummary>>> getBooksWithPagination(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         logger.info("GET /api/books/paginated - Page: {}, Size: {}", page, size);
         
         try {
-            Page<Book> books = bookService.getBooksWithPagination(page, size);
+            Page<BookSummary> books = bookService.getBooksWithPagination(page, size);
             logger.info("API pagination returned {} books on page {} of {}", 
                        books.getNumberOfElements(), page, books.getTotalPages());
             return ResponseEntity.ok(ApiResponse.success("Books retrieved", books));
@@ -111,14 +136,52 @@ public class BookController {
         }
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPage<BookSummary>>> getBooksByCursor(
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeCount) {
+        logger.info("GET /api/books/cursor - Sort: {}, Size: {}", sort, size);
+
+        try {
+            CursorPage<BookSummary> books = bookService.getBooksByCursor(
+                    BookCursor.Sort.fromParam(sort), cursor, Math.min(Math.max(size, 1), 100), includeCount);
+            logger.info("API cursor pagination returned {} books (has next: {})",
+                       books.getContent().size(), books.isHasNext());
+            return ResponseEntity.ok(ApiResponse.success("Books retrieved", books));
+        } catch (Exception e) {
+            logger.error("Error fetching books by cursor - Sort: {} - Error: {}", sort, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/reviews")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewSummary>>> getBookReviews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        logger.info("GET /api/books/{}/reviews - Size: {}", id, size);
+
+        try {
+            CursorPage<ReviewSummary> reviews = reviewService.getApprovedReviews(id, cursor, Math.min(Math.max(size, 1), 100));
+            logger.info("API returned {} reviews for book ID: {} (has next: {})",
+                       reviews.getContent().size(), id, reviews.isHasNext());
+            return ResponseEntity.ok(ApiResponse.success("Reviews retrieved", reviews));
+        } catch (Exception e) {
+            logger.error("Error fetching reviews for book ID: {} - Error: {}", id, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/sort/price-asc")
-    public ResponseEntity<ApiResponse<Page<Book>>> getBooksSortedByPriceAsc(
+    public ResponseEntity<ApiResponse<Page<BookSummary>>> getBooksSortedByPriceAsc(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         logger.info("GET /api/books/sort/price-asc - Page: {}, Size: {}", page, size);
         
         try {
-            Page<Book> books = bookService.getBooksSortedByPriceAsc(page, size);
+            Page<BookSummary> books = bookService.getBooksSortedByPriceAsc(page, size);
             logger.info("API price sort (asc) returned {} books on page {}", books.getNumberOfElements(), page);
             return ResponseEntity.ok(ApiResponse.success("Books sorted by price (ascending)", books));
         } catch (Exception e) {
@@ -128,13 +191,13 @@ public class BookController {
     }
 
     @GetMapping("/sort/price-desc")
-    public ResponseEntity<ApiResponse<Page<Book>>> getBooksSortedByPriceDesc(
+    public ResponseEntity<ApiResponse<Page<BookSummary>>> getBooksSortedByPriceDesc(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         logger.info("GET /api/books/sort/price-desc - Page: {}, Size: {}", page, size);
         
         try {
-            Page<Book> books = bookService.getBooksSortedByPriceDesc(page, size);
+            Page<BookSummary> books = bookService.getBooksSortedByPriceDesc(page, size);
             logger.info("API price sort (desc) returned {} books on page {}", books.getNumberOfElements(), page);
             return ResponseEntity.ok(ApiResponse.success("Books sorted by price (descending)", books));
         } catch (Exception e) {
@@ -144,13 +207,13 @@ public class BookController {
     }
 
     @GetMapping("/new-arrivals")
-    public ResponseEntity<ApiResponse<Page<Book>>> getNewArrivals(
+    public ResponseEntity<ApiResponse<Page<BookSummary>>> getNewArrivals(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         logger.info("GET /api/books/new-arrivals - Page: {}, Size: {}", page, size);
         
         try {
-            Page<Book> books = bookService.getNewArrivals(page, size);
+            Page<BookSummary> books = bookService.getNewArrivals(page, size);
             logger.info("API new arrivals returned {} books on page {}", books.getNumberOfElements(), page);
             return ResponseEntity.ok(ApiResponse.success("New arrivals retrieved", books));
         } catch (Exception e) {
@@ -159,6 +222,20 @@ public class BookController {
         }
     }
 
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<Book>> getBookDetails(@PathVariable Long id) {
+        logger.info("GET /api/books/{} - Fetching book details", id);
+
+        try {
+            Book book = bookService.getBookDetails(id);
+            logger.info("Book details retrieved via API - ID: {}, Title: {}", id, book.getTitle());
+            return ResponseEntity.ok(ApiResponse.success("Book retrieved", book));
+        } catch (Exception e) {
+            logger.error("Error fetching book details via API - Book ID: {} - Error: {}", id, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}/image")
     public ResponseEntity<ApiResponse<Book>> updateBookImage(@PathVariable Long id, @RequestParam String imageUrl) {
         logger.info("PUT /api/books/{}/image - Updating book image", id);
@@ -194,10 +271,9 @@ public class BookController {
                         .body(ApiResponse.error("Rating must be between 1 and 5 stars"));
             }
             
-            Book updatedBook = bookService.rateBook(bookId, rating);
+            bookService.rateBook(bookId, rating);
             
-            logger.info("Book rated successfully via API - Book: {}, New Rating: {}", 
-                       updatedBook.getTitle(), updatedBook.getRatingAvg());
+            logger.info("Book rated successfully via API - Book ID: {}, Rating: {}", bookId, rating);
             
             return ResponseEntity.ok(ApiResponse.success("Book rated successfully"));
             
@@ -209,11 +285,11 @@ public class BookController {
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<ApiResponse<List<Book>>> getBooksByCategory(@PathVariable Long categoryId) {
+    public ResponseEntity<ApiResponse<List<BookSummary>>> getBooksByCategory(@PathVariable Long categoryId) {
         logger.info("GET /api/books/category/{} - Fetching books by category", categoryId);
 
         try {
-            List<Book> books = bookService.getBooksByCategory(categoryId);
+            List<BookSummary> books = bookService.getBooksByCategory(categoryId);
             logger.info("Retrieved {} books for category ID: {}", books.size(), categoryId);
             return ResponseEntity.ok(ApiResponse.success("Books retrieved", books));
         } catch (Exception e) {
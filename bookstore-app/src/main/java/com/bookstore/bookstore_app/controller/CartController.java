@@ -1,8 +1,10 @@
 package com.bookstore.bookstore_app.controller;
 
 import com.bookstore.bookstore_app.dto.ApiResponse;
+import com.bookstore.bookstore_app.dto.CartBatchRequest;
 import com.bookstore.bookstore_app.entity.CartItem;
 import com.bookstore.bookstore_app.service.CartService;
+import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -74,6 +76,24 @@ public class CartController {
         }
     }
 
+    @PutMapping("/batch")
+    public ResponseEntity<ApiResponse<List<CartItem>>> applyBatch(
+            @RequestParam Long userId,
+            @Valid @RequestBody CartBatchRequest request) {
+        logger.info("PUT /api/cart/batch - User ID: {}, Lines: {}", userId, request.getItems().size());
+
+        try {
+            List<CartItem> cartItems = cartService.applyBatch(userId, request.getItems());
+            logger.info("Cart batch applied successfully via API - User ID: {}, Items in cart: {}",
+                       userId, cartItems.size());
+            return ResponseEntity.ok(ApiResponse.success("Cart updated", cartItems));
+        } catch (Exception e) {
+            logger.error("Error applying cart batch via API - User ID: {} - Error: {}",
+                        userId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<ApiResponse<List<CartItem>>> getCartItems(@PathVariable Long userId) {
         logger.info("GET /api/cart/{} - Fetching cart items", userId);
@@ -3,11 +3,15 @@ package com.bookstore.bookstore_app.controller;
 import com.bookstore.bookstore_app.dto.*;
 import com.bookstore.bookstore_app.entity.User;
 import com.bookstore.bookstore_app.service.UserService;
+import com.bookstore.bookstore_app.config.JwtPrincipal;
 import com.bookstore.bookstore_app.config.JwtUtil;
+import com.bookstore.bookstore_app.exception.TooManyRequestsException;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -50,6 +54,11 @@ public class UserController {
         
         return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
         
+        } catch (TooManyRequestsException e) {
+            logger.warn("Login throttled via API - Email: {} - {}", request.getEmail(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             logger.error("Error during login via API - Email: {} - Error: {}", 
                     request.getEmail(), e.getMessage(), e);
@@ -71,14 +80,14 @@ public class UserController {
             // Extract token
             String token = authHeader.replace("Bearer ", "");
 
-            // Validate token
-            if (!jwtUtil.validateToken(token)) {
+            // Validate token and read its claims in one pass
+            JwtPrincipal principal = jwtUtil.verifyToken(token);
+            if (principal == null) {
                 logger.warn("Profile request failed - Invalid or expired token");
                 return ResponseEntity.status(401).body(ApiResponse.error("Invalid or expired token"));
             }
 
-            // Get email from token
-            String email = jwtUtil.getEmailFromToken(token);
+            String email = principal.getEmail();
             if (email == null || email.isEmpty()) {
                 logger.warn("Profile request failed - Invalid token payload");
                 return ResponseEntity.status(401).body(ApiResponse.error("Invalid token payload"));
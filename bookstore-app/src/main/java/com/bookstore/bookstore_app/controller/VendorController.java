@@ -4,10 +4,13 @@ import com.bookstore.bookstore_app.config.JwtAuthenticationToken;
 import com.bookstore.bookstore_app.dto.ApiResponse;
 import com.bookstore.bookstore_app.dto.VendorRegistrationRequest;
 import com.bookstore.bookstore_app.dto.BookCreateRequest;
+import com.bookstore.bookstore_app.dto.CatalogImportStatus;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.entity.Order;
 import com.bookstore.bookstore_app.entity.Vendor;
+import com.bookstore.bookstore_app.service.CatalogImportService;
 import com.bookstore.bookstore_app.service.VendorService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,6 +32,9 @@ public class VendorController {
     @Autowired
     private VendorService vendorService;
 
+    @Autowired
+    private CatalogImportService catalogImportService;
+
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<Vendor>> registerVendor(
             @Valid @RequestBody VendorRegistrationRequest request,
@@ -110,6 +116,47 @@ public class VendorController {
         }
     }
 
+    // Body is read as a raw stream so large uploads are never materialised in memory
+    @PostMapping(value = "/books/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<CatalogImportStatus>> importBooks(
+            HttpServletRequest request,
+            Authentication authentication) {
+
+        logger.info("POST /api/vendor/books/import - Catalog import upload, Content type: {}", request.getContentType());
+
+        try {
+            Long userId = getUserIdFromAuth(authentication);
+            CatalogImportStatus status = catalogImportService.startImport(
+                    userId, request.getContentType(), request.getInputStream());
+
+            logger.info("Catalog import accepted - Job ID: {}", status.getJobId());
+            return ResponseEntity.accepted().body(ApiResponse.success(
+                "Catalog import started. Poll the job for progress.", status));
+
+        } catch (Exception e) {
+            logger.error("Error starting catalog import - Error: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/books/import/{jobId}")
+    public ResponseEntity<ApiResponse<CatalogImportStatus>> getImportStatus(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        logger.info("GET /api/vendor/books/import/{} - Fetching catalog import status", jobId);
+
+        try {
+            Long userId = getUserIdFromAuth(authentication);
+            CatalogImportStatus status = catalogImportService.getStatus(userId, jobId);
+            return ResponseEntity.ok(ApiResponse.success("Catalog import status retrieved", status));
+
+        } catch (Exception e) {
+            logger.error("Error fetching catalog import status - Job ID: {} - Error: {}", jobId, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @GetMapping("/books")
     public ResponseEntity<ApiResponse<List<Book>>> getVendorBooks(Authentication authentication) {
         logger.info("GET /api/vendor/books - Fetching vendor's books");
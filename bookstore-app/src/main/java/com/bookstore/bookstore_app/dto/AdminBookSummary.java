@@ -0,0 +1,73 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Row for the admin book tables: the card fields plus ISBN, description and approval status.
+ */
+public class AdminBookSummary {
+    private Long id;
+    private String title;
+    private String author;
+    private String isbn;
+    private String description;
+    private BigDecimal price;
+    private BigDecimal ratingAvg;
+    private String imageUrl;
+    private Long categoryId;
+    private int stockQuantity;
+    private boolean approved;
+
+    // Constructors
+    public AdminBookSummary() {}
+
+    public AdminBookSummary(Long id, String title, String author, String isbn, String description,
+                            BigDecimal price, BigDecimal ratingAvg, String imageUrl, Long categoryId,
+                            int stockQuantity, boolean approved) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.description = description;
+        this.price = price;
+        this.ratingAvg = ratingAvg;
+        this.imageUrl = imageUrl;
+        this.categoryId = categoryId;
+        this.stockQuantity = stockQuantity;
+        this.approved = approved;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getRatingAvg() { return ratingAvg; }
+    public void setRatingAvg(BigDecimal ratingAvg) { this.ratingAvg = ratingAvg; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public int getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(int stockQuantity) { this.stockQuantity = stockQuantity; }
+
+    public boolean isApproved() { return approved; }
+    public void setApproved(boolean approved) { this.approved = approved; }
+}
@@ -0,0 +1,54 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.math.BigDecimal;
+
+public class BookSearchResult {
+    private Long id;
+    private String title;
+    private String author;
+    private String isbn;
+    private BigDecimal price;
+    private BigDecimal ratingAvg;
+    private String imageUrl;
+    private double score;
+
+    // Constructors
+    public BookSearchResult() {}
+
+    public BookSearchResult(Long id, String title, String author, String isbn,
+                            BigDecimal price, BigDecimal ratingAvg, String imageUrl, double score) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.isbn = isbn;
+        this.price = price;
+        this.ratingAvg = ratingAvg;
+        this.imageUrl = imageUrl;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getRatingAvg() { return ratingAvg; }
+    public void setRatingAvg(BigDecimal ratingAvg) { this.ratingAvg = ratingAvg; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
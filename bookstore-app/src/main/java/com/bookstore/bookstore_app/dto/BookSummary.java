@@ -0,0 +1,80 @@
+package com.bookstore.bookstore_app.dto;
+
+import com.bookstore.bookstore_app.entity.Book;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Card-sized view of a book for list endpoints. Selected directly by JPQL constructor
+ * expressions in BookRepository, so the TEXT description and the category row are never loaded.
+ */
+public class BookSummary {
+    private Long id;
+    private String title;
+    private String author;
+    private BigDecimal price;
+    private BigDecimal ratingAvg;
+    private String imageUrl;
+    private Long categoryId;
+    private int stockQuantity;
+    @JsonIgnore  // Sort key for the 'newest' keyset cursor; not part of the card
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public BookSummary() {}
+
+    public BookSummary(Long id, String title, String author, BigDecimal price, BigDecimal ratingAvg,
+                       String imageUrl, Long categoryId, int stockQuantity, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.price = price;
+        this.ratingAvg = ratingAvg;
+        this.imageUrl = imageUrl;
+        this.categoryId = categoryId;
+        this.stockQuantity = stockQuantity;
+        this.createdAt = createdAt;
+    }
+
+    public BookSummary(Book book) {
+        this.id = book.getId();
+        this.title = book.getTitle();
+        this.author = book.getAuthor();
+        this.price = book.getPrice();
+        this.ratingAvg = book.getRatingAvg();
+        this.imageUrl = book.getImageUrl();
+        // Reading the id of a lazy proxy does not initialize it
+        this.categoryId = book.getCategory() != null ? book.getCategory().getId() : null;
+        this.stockQuantity = book.getStockQuantity();
+        this.createdAt = book.getCreatedAt();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public BigDecimal getRatingAvg() { return ratingAvg; }
+    public void setRatingAvg(BigDecimal ratingAvg) { this.ratingAvg = ratingAvg; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public Long getCategoryId() { return categoryId; }
+    public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
+
+    public int getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(int stockQuantity) { this.stockQuantity = stockQuantity; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
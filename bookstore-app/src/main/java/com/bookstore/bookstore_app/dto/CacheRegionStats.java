@@ -0,0 +1,47 @@
+package com.bookstore.bookstore_app.dto;
+
+public class CacheRegionStats {
+    private String region;
+    private long size;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;      // Removed by Caffeine for size or expiry
+    private long invalidations;  // Removed explicitly by a write path
+
+    // Constructors
+    public CacheRegionStats() {}
+
+    public CacheRegionStats(String region, long size, long hits, long misses, double hitRate,
+                            long evictions, long invalidations) {
+        this.region = region;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hitRate;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+    }
+
+    // Getters and Setters
+    public String getRegion() { return region; }
+    public void setRegion(String region) { this.region = region; }
+
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+
+    public long getInvalidations() { return invalidations; }
+    public void setInvalidations(long invalidations) { this.invalidations = invalidations; }
+}
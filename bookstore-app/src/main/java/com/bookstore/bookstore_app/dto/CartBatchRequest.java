@@ -0,0 +1,25 @@
+package com.bookstore.bookstore_app.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CartBatchRequest {
+    @NotEmpty
+    @Size(max = 200)
+    @Valid
+    private List<CartItemDelta> items;
+
+    // Constructors
+    public CartBatchRequest() {}
+
+    public CartBatchRequest(List<CartItemDelta> items) {
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<CartItemDelta> getItems() { return items; }
+    public void setItems(List<CartItemDelta> items) { this.items = items; }
+}
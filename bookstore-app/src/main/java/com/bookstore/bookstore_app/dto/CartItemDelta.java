@@ -0,0 +1,26 @@
+package com.bookstore.bookstore_app.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class CartItemDelta {
+    @NotNull
+    private Long bookId;
+
+    // Added to the current cart quantity; negative values take copies out, reaching zero removes the line
+    private int quantity;
+
+    // Constructors
+    public CartItemDelta() {}
+
+    public CartItemDelta(Long bookId, int quantity) {
+        this.bookId = bookId;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public int getQuantity() { return quantity; }
+    public void setQuantity(int quantity) { this.quantity = quantity; }
+}
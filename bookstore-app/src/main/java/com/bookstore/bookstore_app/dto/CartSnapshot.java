@@ -0,0 +1,28 @@
+package com.bookstore.bookstore_app.dto;
+
+import com.bookstore.bookstore_app.entity.CartItem;
+import java.math.BigDecimal;
+import java.util.List;
+
+// A user's cart lines with their books loaded, and the total at the prices read with them
+public class CartSnapshot {
+    private List<CartItem> items;
+    private BigDecimal total;
+
+    // Constructors
+    public CartSnapshot() {}
+
+    public CartSnapshot(List<CartItem> items, BigDecimal total) {
+        this.items = items;
+        this.total = total;
+    }
+
+    // Getters and Setters
+    public List<CartItem> getItems() { return items; }
+    public void setItems(List<CartItem> items) { this.items = items; }
+
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+
+    public boolean isEmpty() { return items == null || items.isEmpty(); }
+}
@@ -0,0 +1,64 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CatalogImportStatus {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String jobId;
+    private String format;
+    private State state;
+    private long rowsRead;
+    private long imported;
+    private long duplicates;           // ISBN already in the catalogue or earlier in the upload
+    private long rejected;             // Failed parsing or validation
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;   // More rows failed than are listed
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public CatalogImportStatus() {}
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getDuplicates() { return duplicates; }
+    public void setDuplicates(long duplicates) { this.duplicates = duplicates; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public List<ImportRowError> getErrors() { return errors; }
+    public void setErrors(List<ImportRowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
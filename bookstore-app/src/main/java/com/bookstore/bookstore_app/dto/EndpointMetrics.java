@@ -0,0 +1,54 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.util.Map;
+
+public class EndpointMetrics {
+    private String endpoint;                        // HTTP method plus the matched route pattern
+    private long requests;
+    private long serverErrors;                      // Responses with a 5xx status
+    private double avgMs;
+    private double maxMs;
+    private long sqlStatements;
+    private double avgStatements;
+    private double jdbcMs;                          // Total time spent inside JDBC execute calls
+    private long rowsFetched;
+    private Map<String, Long> latencyMsHistogram;   // Upper bound in ms -> requests, "+Inf" last
+    private Map<String, Long> statementHistogram;   // Upper bound in statements -> requests, "+Inf" last
+
+    // Constructors
+    public EndpointMetrics() {}
+
+    // Getters and Setters
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+    public long getRequests() { return requests; }
+    public void setRequests(long requests) { this.requests = requests; }
+
+    public long getServerErrors() { return serverErrors; }
+    public void setServerErrors(long serverErrors) { this.serverErrors = serverErrors; }
+
+    public double getAvgMs() { return avgMs; }
+    public void setAvgMs(double avgMs) { this.avgMs = avgMs; }
+
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+
+    public long getSqlStatements() { return sqlStatements; }
+    public void setSqlStatements(long sqlStatements) { this.sqlStatements = sqlStatements; }
+
+    public double getAvgStatements() { return avgStatements; }
+    public void setAvgStatements(double avgStatements) { this.avgStatements = avgStatements; }
+
+    public double getJdbcMs() { return jdbcMs; }
+    public void setJdbcMs(double jdbcMs) { this.jdbcMs = jdbcMs; }
+
+    public long getRowsFetched() { return rowsFetched; }
+    public void setRowsFetched(long rowsFetched) { this.rowsFetched = rowsFetched; }
+
+    public Map<String, Long> getLatencyMsHistogram() { return latencyMsHistogram; }
+    public void setLatencyMsHistogram(Map<String, Long> latencyMsHistogram) { this.latencyMsHistogram = latencyMsHistogram; }
+
+    public Map<String, Long> getStatementHistogram() { return statementHistogram; }
+    public void setStatementHistogram(Map<String, Long> statementHistogram) { this.statementHistogram = statementHistogram; }
+}
@@ -0,0 +1,26 @@
+package com.bookstore.bookstore_app.dto;
+
+public class ImportRowError {
+    private long row;        // Data row (CSV, header excluded) or line (NDJSON), starting at 1
+    private String isbn;
+    private String message;
+
+    // Constructors
+    public ImportRowError() {}
+
+    public ImportRowError(long row, String isbn, String message) {
+        this.row = row;
+        this.isbn = isbn;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getRow() { return row; }
+    public void setRow(long row) { this.row = row; }
+
+    public String getIsbn() { return isbn; }
+    public void setIsbn(String isbn) { this.isbn = isbn; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
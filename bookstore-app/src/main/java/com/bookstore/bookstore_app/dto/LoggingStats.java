@@ -0,0 +1,39 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.util.Map;
+
+public class LoggingStats {
+    private String mode;                      // "async" or "sync"
+    private long ringBufferSize;
+    private long ringBufferRemaining;
+    private long ringBufferDiscarded;         // Events dropped by the queue-full policy
+    private Map<String, Long> appenderDropped; // Per-appender overflow counter to events dropped
+
+    // Constructors
+    public LoggingStats() {}
+
+    public LoggingStats(String mode, long ringBufferSize, long ringBufferRemaining, long ringBufferDiscarded,
+                        Map<String, Long> appenderDropped) {
+        this.mode = mode;
+        this.ringBufferSize = ringBufferSize;
+        this.ringBufferRemaining = ringBufferRemaining;
+        this.ringBufferDiscarded = ringBufferDiscarded;
+        this.appenderDropped = appenderDropped;
+    }
+
+    // Getters and Setters
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public long getRingBufferSize() { return ringBufferSize; }
+    public void setRingBufferSize(long ringBufferSize) { this.ringBufferSize = ringBufferSize; }
+
+    public long getRingBufferRemaining() { return ringBufferRemaining; }
+    public void setRingBufferRemaining(long ringBufferRemaining) { this.ringBufferRemaining = ringBufferRemaining; }
+
+    public long getRingBufferDiscarded() { return ringBufferDiscarded; }
+    public void setRingBufferDiscarded(long ringBufferDiscarded) { this.ringBufferDiscarded = ringBufferDiscarded; }
+
+    public Map<String, Long> getAppenderDropped() { return appenderDropped; }
+    public void setAppenderDropped(Map<String, Long> appenderDropped) { this.appenderDropped = appenderDropped; }
+}
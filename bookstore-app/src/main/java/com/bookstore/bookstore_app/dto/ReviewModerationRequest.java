@@ -0,0 +1,29 @@
+package com.bookstore.bookstore_app.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class ReviewModerationRequest {
+    @NotEmpty
+    private List<Long> reviewIds;
+
+    @NotNull
+    private Boolean approved;
+
+    // Constructors
+    public ReviewModerationRequest() {}
+
+    public ReviewModerationRequest(List<Long> reviewIds, Boolean approved) {
+        this.reviewIds = reviewIds;
+        this.approved = approved;
+    }
+
+    // Getters and Setters
+    public List<Long> getReviewIds() { return reviewIds; }
+    public void setReviewIds(List<Long> reviewIds) { this.reviewIds = reviewIds; }
+
+    public Boolean getApproved() { return approved; }
+    public void setApproved(Boolean approved) { this.approved = approved; }
+}
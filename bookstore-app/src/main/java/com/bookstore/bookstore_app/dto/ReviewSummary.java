@@ -0,0 +1,47 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review row for listings and the moderation queue, projected straight from the reviews table
+ * so neither the user nor the book is loaded.
+ */
+public class ReviewSummary {
+    private Long id;
+    private Long bookId;
+    private Long userId;
+    private int rating;
+    private String reviewText;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ReviewSummary() {}
+
+    public ReviewSummary(Long id, Long bookId, Long userId, int rating, String reviewText, LocalDateTime createdAt) {
+        this.id = id;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.rating = rating;
+        this.reviewText = reviewText;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public int getRating() { return rating; }
+    public void setRating(int rating) { this.rating = rating; }
+
+    public String getReviewText() { return reviewText; }
+    public void setReviewText(String reviewText) { this.reviewText = reviewText; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
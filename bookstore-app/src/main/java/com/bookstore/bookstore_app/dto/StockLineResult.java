@@ -0,0 +1,26 @@
+package com.bookstore.bookstore_app.dto;
+
+public class StockLineResult {
+    private Long bookId;
+    private int requested;
+    private boolean reserved;
+
+    // Constructors
+    public StockLineResult() {}
+
+    public StockLineResult(Long bookId, int requested, boolean reserved) {
+        this.bookId = bookId;
+        this.requested = requested;
+        this.reserved = reserved;
+    }
+
+    // Getters and Setters
+    public Long getBookId() { return bookId; }
+    public void setBookId(Long bookId) { this.bookId = bookId; }
+
+    public int getRequested() { return requested; }
+    public void setRequested(int requested) { this.requested = requested; }
+
+    public boolean isReserved() { return reserved; }
+    public void setReserved(boolean reserved) { this.reserved = reserved; }
+}
@@ -0,0 +1,39 @@
+package com.bookstore.bookstore_app.dto;
+
+import java.util.Map;
+
+public class ThreadingStats {
+    private String mode;                 // "virtual" or "platform"
+    private long pinnedEvents;
+    private long pinnedMillisTotal;
+    private long pinnedMillisMax;
+    private Map<String, Long> pinnedSites; // Innermost non-JDK frame to event count, busiest first
+
+    // Constructors
+    public ThreadingStats() {}
+
+    public ThreadingStats(String mode, long pinnedEvents, long pinnedMillisTotal, long pinnedMillisMax,
+                          Map<String, Long> pinnedSites) {
+        this.mode = mode;
+        this.pinnedEvents = pinnedEvents;
+        this.pinnedMillisTotal = pinnedMillisTotal;
+        this.pinnedMillisMax = pinnedMillisMax;
+        this.pinnedSites = pinnedSites;
+    }
+
+    // Getters and Setters
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public long getPinnedEvents() { return pinnedEvents; }
+    public void setPinnedEvents(long pinnedEvents) { this.pinnedEvents = pinnedEvents; }
+
+    public long getPinnedMillisTotal() { return pinnedMillisTotal; }
+    public void setPinnedMillisTotal(long pinnedMillisTotal) { this.pinnedMillisTotal = pinnedMillisTotal; }
+
+    public long getPinnedMillisMax() { return pinnedMillisMax; }
+    public void setPinnedMillisMax(long pinnedMillisMax) { this.pinnedMillisMax = pinnedMillisMax; }
+
+    public Map<String, Long> getPinnedSites() { return pinnedSites; }
+    public void setPinnedSites(Map<String, Long> pinnedSites) { this.pinnedSites = pinnedSites; }
+}
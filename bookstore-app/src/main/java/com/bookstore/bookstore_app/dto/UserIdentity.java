@@ -0,0 +1,56 @@
+package com.bookstore.bookstore_app.dto;
+
+import com.bookstore.bookstore_app.entity.User;
+import java.time.LocalDateTime;
+
+// Immutable copy of the user columns that login, registration and the profile endpoint read
+public final class UserIdentity {
+    private final Long id;
+    private final String email;
+    private final String passwordHash;
+    private final String firstName;
+    private final String lastName;
+    private final String phone;
+    private final User.Role role;
+    private final boolean verified;
+    private final LocalDateTime createdAt;
+
+    // Constructors
+    private UserIdentity(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.passwordHash = user.getPassword();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.phone = user.getPhone();
+        this.role = user.getRole();
+        this.verified = user.isVerified();
+        this.createdAt = user.getCreatedAt();
+    }
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getPasswordHash() { return passwordHash; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getPhone() { return phone; }
+    public User.Role getRole() { return role; }
+    public boolean isVerified() { return verified; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // A detached, read-only User for responses; never save it
+    public User toUser() {
+        User user = new User(email, passwordHash, firstName, lastName);
+        user.setId(id);
+        user.setPhone(phone);
+        user.setRole(role);
+        user.setVerified(verified);
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
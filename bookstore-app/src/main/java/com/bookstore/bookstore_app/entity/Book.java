@@ -1,6 +1,8 @@
 package com.bookstore.bookstore_app.entity;
 
+import com.bookstore.bookstore_app.service.BookSearchIndexListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -9,10 +11,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        // Backing indexes for keyset pagination (price, id) and (created_at, id)
+        @Index(name = "idx_books_price_id", columnList = "price, id"),
+        @Index(name = "idx_books_created_at_id", columnList = "created_at, id")
+})
+@EntityListeners(BookSearchIndexListener.class) // Keeps the in-memory search index current
+@DynamicUpdate // Entity saves only write changed columns, so they never overwrite stock decremented in SQL
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "books_ids")
+    @TableGenerator(name = "books_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "books",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank
@@ -45,6 +56,10 @@ public class Book {
 
     private int totalRatings = 0;
 
+    // Sum of all star ratings; ratingAvg is rating_sum / total_ratings, maintained by RatingAggregator
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum = 0;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -170,6 +185,14 @@ public class Book {
         this.totalRatings = totalRatings;
     }
 
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
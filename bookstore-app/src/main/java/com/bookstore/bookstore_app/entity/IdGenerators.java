@@ -0,0 +1,17 @@
+package com.bookstore.bookstore_app.entity;
+
+/**
+ * Shared settings for the pooled table-based ID generators. IDENTITY columns make Hibernate
+ * insert every row immediately to learn its key, which rules out JDBC batching; these entities
+ * instead reserve ALLOCATION_SIZE IDs per round trip to the id_generators table (one row per
+ * entity) and hand them out from memory, so inserts can be flushed as batches.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "entity_name";
+    public static final String VALUE_COLUMN = "next_id";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {}
+}
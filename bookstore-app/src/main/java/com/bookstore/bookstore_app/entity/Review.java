@@ -5,10 +5,18 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Approved reviews per book, newest first; InnoDB appends the primary key, so the (created_at, id) keyset is covered
+        @Index(name = "idx_reviews_book_approved_created", columnList = "book_id, is_approved, created_at"),
+        // Moderation queue: unmoderated reviews, oldest first
+        @Index(name = "idx_reviews_moderation", columnList = "is_approved, is_rejected, created_at")
+})
 public class Review {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reviews_ids")
+    @TableGenerator(name = "reviews_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "reviews",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,8 +34,20 @@ public class Review {
     @Column(columnDefinition = "TEXT")
     private String reviewText;
 
+    @Column(name = "is_approved")
     private boolean isApproved = false;
 
+    // Rejected reviews stay in the table but are neither listed nor queued for moderation again
+    @Column(name = "is_rejected")
+    private boolean isRejected = false;
+
+    // Moderation claim: the admin working on this pending review, until the claim lapses
+    @Column(name = "claimed_by")
+    private Long claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -60,6 +80,15 @@ public class Review {
     public boolean isApproved() { return isApproved; }
     public void setApproved(boolean approved) { isApproved = approved; }
 
+    public boolean isRejected() { return isRejected; }
+    public void setRejected(boolean rejected) { isRejected = rejected; }
+
+    public Long getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(Long claimedBy) { this.claimedBy = claimedBy; }
+
+    public LocalDateTime getClaimedUntil() { return claimedUntil; }
+    public void setClaimedUntil(LocalDateTime claimedUntil) { this.claimedUntil = claimedUntil; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
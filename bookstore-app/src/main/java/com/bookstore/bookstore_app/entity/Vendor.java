@@ -1,6 +1,7 @@
 package com.bookstore.bookstore_app.entity;
 
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +25,7 @@ public class Vendor {
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @OneToMany(mappedBy = "vendor", cascade = CascadeType.ALL)
+    @JsonIgnore // Books have their own endpoints; don't load the whole catalogue with the vendor
     private List<Book> books;
 
     // Constructors
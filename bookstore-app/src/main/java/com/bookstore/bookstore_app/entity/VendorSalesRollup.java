@@ -0,0 +1,63 @@
+package com.bookstore.bookstore_app.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One row per vendor, maintained by VendorRollupService so the vendor dashboard never joins order history
+@Entity
+@Table(name = "vendor_sales_rollups")
+public class VendorSalesRollup {
+    @Id
+    @Column(name = "vendor_id")
+    private Long vendorId;
+
+    @Column(name = "total_revenue", precision = 12, scale = 2, nullable = false)
+    private BigDecimal totalRevenue = BigDecimal.ZERO;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(name = "approved_books", nullable = false)
+    private long approvedBooks;
+
+    @Column(name = "pending_books", nullable = false)
+    private long pendingBooks;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    // Constructors
+    public VendorSalesRollup() {}
+
+    public VendorSalesRollup(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    // Getters and Setters
+    public Long getVendorId() { return vendorId; }
+    public void setVendorId(Long vendorId) { this.vendorId = vendorId; }
+
+    public BigDecimal getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public long getOrderCount() { return orderCount; }
+    public void setOrderCount(long orderCount) { this.orderCount = orderCount; }
+
+    public long getUnitsSold() { return unitsSold; }
+    public void setUnitsSold(long unitsSold) { this.unitsSold = unitsSold; }
+
+    public long getApprovedBooks() { return approvedBooks; }
+    public void setApprovedBooks(long approvedBooks) { this.approvedBooks = approvedBooks; }
+
+    public long getPendingBooks() { return pendingBooks; }
+    public void setPendingBooks(long pendingBooks) { this.pendingBooks = pendingBooks; }
+
+    public long getTotalBooks() { return approvedBooks + pendingBooks; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,31 @@
+package com.bookstore.bookstore_app.exception;
+
+import com.bookstore.bookstore_app.dto.StockLineResult;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when one or more order lines could not be reserved. Carries the result of every
+ * line so callers can tell the customer exactly which books ran out.
+ */
+public class InsufficientStockException extends BusinessException {
+
+    private final List<StockLineResult> lines;
+
+    public InsufficientStockException(List<StockLineResult> lines) {
+        super("Insufficient stock for book IDs: " + lines.stream()
+                .filter(line -> !line.isReserved())
+                .map(line -> line.getBookId() + " (requested " + line.getRequested() + ")")
+                .collect(Collectors.joining(", ")));
+        this.lines = List.copyOf(lines);
+    }
+
+    public List<StockLineResult> getLines() {
+        return lines;
+    }
+
+    public List<StockLineResult> getFailedLines() {
+        return lines.stream().filter(line -> !line.isReserved()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,19 @@
+package com.bookstore.bookstore_app.exception;
+
+/**
+ * Thrown when a request is shed under load or a caller has run out of attempts. Answered with
+ * 429 and a Retry-After header rather than queueing the caller.
+ */
+public class TooManyRequestsException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
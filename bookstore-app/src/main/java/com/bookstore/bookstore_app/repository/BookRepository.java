@@ -1,16 +1,32 @@
 package com.bookstore.bookstore_app.repository;
 
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.dto.BookSummary;
 import com.bookstore.bookstore_app.entity.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    // Card-field projections for list endpoints; LEFT JOIN so books without a category are kept
+    String SUMMARY_SELECT = "SELECT new com.bookstore.bookstore_app.dto.BookSummary(" +
+            "b.id, b.title, b.author, b.price, b.ratingAvg, b.imageUrl, c.id, b.stockQuantity, b.createdAt) " +
+            "FROM Book b LEFT JOIN b.category c ";
+
+    String ADMIN_SUMMARY_SELECT = "SELECT new com.bookstore.bookstore_app.dto.AdminBookSummary(" +
+            "b.id, b.title, b.author, b.isbn, b.description, b.price, b.ratingAvg, b.imageUrl, c.id, b.stockQuantity, b.isApproved) " +
+            "FROM Book b LEFT JOIN b.category c ";
 
     long countByVendorId(Long vendorId);
     long countByVendorIdAndIsApprovedTrue(Long vendorId);
@@ -19,22 +35,88 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     long countByIsApprovedTrue();
     long countByIsApprovedFalse();
 
-    List<Book> findByTitleContainingIgnoreCase(String title);
-    List<Book> findByAuthorContainingIgnoreCase(String author);
     List<Book> findByIsbn(String isbn);
+
+    // Catalog import dedupe: which of a batch of ISBNs are already in the catalogue
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
     List<Book> findByVendorId(Long vendorId);
     List<Book> findByVendorIdAndIsApprovedTrue(Long vendorId);
     List<Book> findByVendorIdAndIsApprovedFalse(Long vendorId);
+    List<Book> findTop5ByVendorIdOrderByCreatedAtDesc(Long vendorId);
+
+    // Keyset (seek) pagination - List return type, so no COUNT(*) query is issued.
+    // Pass PageRequest.of(0, size) to limit the page; the cursor replaces the offset.
+    @Query(SUMMARY_SELECT + "ORDER BY b.id ASC")
+    List<BookSummary> findKeysetSummariesOrderById(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY b.price ASC, b.id ASC")
+    List<BookSummary> findKeysetSummariesOrderByPriceAsc(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY b.price DESC, b.id DESC")
+    List<BookSummary> findKeysetSummariesOrderByPriceDesc(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookSummary> findKeysetSummariesOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.id > :lastId ORDER BY b.id ASC")
+    List<BookSummary> findKeysetSummariesAfterId(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.price > :lastPrice OR (b.price = :lastPrice AND b.id > :lastId) " +
+            "ORDER BY b.price ASC, b.id ASC")
+    List<BookSummary> findKeysetSummariesAfterPriceAsc(@Param("lastPrice") BigDecimal lastPrice,
+                                                       @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.price < :lastPrice OR (b.price = :lastPrice AND b.id < :lastId) " +
+            "ORDER BY b.price DESC, b.id DESC")
+    List<BookSummary> findKeysetSummariesAfterPriceDesc(@Param("lastPrice") BigDecimal lastPrice,
+                                                        @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.createdAt < :lastCreatedAt OR (b.createdAt = :lastCreatedAt AND b.id < :lastId) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookSummary> findKeysetSummariesAfterCreatedAtDesc(@Param("lastCreatedAt") LocalDateTime lastCreatedAt,
+                                                            @Param("lastId") Long lastId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY b.id")
+    List<BookSummary> findAllSummaries();
 
-    @Query("SELECT b FROM Book b WHERE b.ratingAvg >= :rating")
-    List<Book> findByRatingGreaterThanEqual(@Param("rating") Double rating);
+    @Query(SUMMARY_SELECT + "WHERE LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')) ORDER BY b.id")
+    List<BookSummary> findSummariesByTitle(@Param("title") String title);
 
-    Page<Book> findByOrderByPriceAsc(Pageable pageable);
-    Page<Book> findByOrderByPriceDesc(Pageable pageable);
-    Page<Book> findByOrderByCreatedAtDesc(Pageable pageable);
+    @Query(SUMMARY_SELECT + "WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) ORDER BY b.id")
+    List<BookSummary> findSummariesByAuthor(@Param("author") String author);
+
+    @Query(SUMMARY_SELECT + "WHERE b.ratingAvg >= :rating ORDER BY b.id")
+    List<BookSummary> findSummariesByRatingGreaterThanEqual(@Param("rating") Double rating);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId ORDER BY b.id")
+    List<BookSummary> findSummariesByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY b.id", countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY b.price ASC, b.id ASC", countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookSummary> findSummariesOrderByPriceAsc(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY b.price DESC, b.id DESC", countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookSummary> findSummariesOrderByPriceDesc(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY b.createdAt DESC, b.id DESC", countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookSummary> findSummariesOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query(ADMIN_SUMMARY_SELECT + "ORDER BY b.id")
+    List<AdminBookSummary> findAllAdminSummaries();
+
+    @Query(ADMIN_SUMMARY_SELECT + "WHERE b.isApproved = false ORDER BY b.id")
+    List<AdminBookSummary> findAdminSummariesByIsApprovedFalse();
+
+    @Query(ADMIN_SUMMARY_SELECT + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<AdminBookSummary> findRecentAdminSummaries(Pageable pageable);
+
+    // Detail view: the category is fetched in the same select instead of a lazy proxy
+    @EntityGraph(attributePaths = "category")
+    Optional<Book> findWithCategoryById(Long id);
 
     List<Book> findByIsApprovedTrue();
     List<Book> findByIsApprovedFalse();
-
-    List<Book> findByCategoryId(Long categoryId);
 }
\ No newline at end of file
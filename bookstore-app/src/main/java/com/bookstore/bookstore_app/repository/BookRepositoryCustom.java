@@ -0,0 +1,10 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+
+import java.util.stream.Stream;
+
+public interface BookRepositoryCustom {
+    // Admin NDJSON export - must be consumed inside a transaction and closed
+    Stream<AdminBookSummary> streamAllAdminSummaries();
+}
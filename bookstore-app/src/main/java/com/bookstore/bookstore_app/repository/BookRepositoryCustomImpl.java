@@ -0,0 +1,14 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+
+import java.util.stream.Stream;
+
+class BookRepositoryCustomImpl extends StreamingQuerySupport implements BookRepositoryCustom {
+
+    @Override
+    public Stream<AdminBookSummary> streamAllAdminSummaries() {
+        return stream(entityManager.createQuery(
+                BookRepository.ADMIN_SUMMARY_SELECT + "ORDER BY b.id", AdminBookSummary.class));
+    }
+}
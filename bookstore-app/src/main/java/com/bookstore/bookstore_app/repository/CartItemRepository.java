@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,13 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     List<CartItem> findByUserId(Long userId);
 
+    // Cart lines with their books in one statement, for checkout
+    @Query("SELECT c FROM CartItem c JOIN FETCH c.book WHERE c.user.id = :userId ORDER BY c.id")
+    List<CartItem> findWithBooksByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COALESCE(SUM(b.price * c.quantity), 0) FROM CartItem c JOIN c.book b WHERE c.user.id = :userId")
+    BigDecimal sumCartTotal(@Param("userId") Long userId);
+
     Optional<CartItem> findByUserIdAndBookId(Long userId, Long bookId);
 
     @Modifying
@@ -1,6 +1,7 @@
 package com.bookstore.bookstore_app.repository;
 
 import com.bookstore.bookstore_app.entity.Order;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,26 +11,48 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
+
+    // Orders whose ORDER_PLACED event is still pending reach the vendor rollups when it is delivered,
+    // so the rollup rebuild queries leave them out rather than count them a second time
+    String PLACED_EVENT_DELIVERED = "NOT EXISTS (SELECT e.id FROM OutboxEvent e WHERE e.aggregateId = o.id " +
+            "AND e.eventType = com.bookstore.bookstore_app.entity.OutboxEvent$EventType.ORDER_PLACED " +
+            "AND e.status = com.bookstore.bookstore_app.entity.OutboxEvent$Status.PENDING)";
+
     List<Order> findByOrderNumber(String orderNumber);
 
-    List<Order> findAllByOrderByCreatedAtDesc();
+    // Order history views: items, their books and the books' categories are fetched with the
+    // orders in a single select, instead of one lazy load per order, item and category
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.book", "orderItems.book.category"})
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC")
+    List<Order> findWithItemsByUserId(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.book", "orderItems.book.category"})
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC")
+    List<Order> findAllWithItems();
 
     // REMOVED: long countAll();
     // Use the inherited count() method instead
 
-    // Vendor queries - orders containing their books
-    @Query("SELECT DISTINCT o FROM Order o JOIN o.orderItems oi WHERE oi.book.vendor.id = :vendorId ORDER BY o.createdAt DESC")
+    // Vendor queries - orders containing their books (EXISTS keeps the fetched item list complete)
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.book", "orderItems.book.category"})
+    @Query("SELECT o FROM Order o WHERE EXISTS (SELECT oi.id FROM OrderItem oi " +
+            "WHERE oi.order = o AND oi.book.vendor.id = :vendorId) ORDER BY o.createdAt DESC")
     List<Order> findOrdersByVendorId(@Param("vendorId") Long vendorId);
 
-    @Query("SELECT COUNT(DISTINCT o) FROM Order o JOIN o.orderItems oi WHERE oi.book.vendor.id = :vendorId")
+    @Query("SELECT COUNT(DISTINCT o) FROM Order o JOIN o.orderItems oi WHERE oi.book.vendor.id = :vendorId AND " +
+            PLACED_EVENT_DELIVERED)
     long countOrdersByVendorId(@Param("vendorId") Long vendorId);
 
     // Revenue calculations
     @Query("SELECT SUM(o.totalAmount) FROM Order o")
     BigDecimal getTotalRevenue();
 
-    @Query("SELECT COALESCE(SUM(oi.totalPrice), 0) FROM OrderItem oi WHERE oi.book.vendor.id = :vendorId")
+    @Query("SELECT COALESCE(SUM(oi.totalPrice), 0) FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.book.vendor.id = :vendorId AND " + PLACED_EVENT_DELIVERED)
     BigDecimal getVendorRevenue(@Param("vendorId") Long vendorId);
+
+    @Query("SELECT COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi JOIN oi.order o " +
+            "WHERE oi.book.vendor.id = :vendorId AND " + PLACED_EVENT_DELIVERED)
+    long getVendorUnitsSold(@Param("vendorId") Long vendorId);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.Order;
+
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+    // Admin NDJSON export; ordered by id so each order's item rows arrive together
+    Stream<Order> streamAllWithItems();
+}
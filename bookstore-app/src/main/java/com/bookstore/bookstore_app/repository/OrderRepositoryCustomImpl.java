@@ -0,0 +1,20 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.Order;
+import jakarta.persistence.EntityGraph;
+
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_FETCH_GRAPH;
+
+class OrderRepositoryCustomImpl extends StreamingQuerySupport implements OrderRepositoryCustom {
+
+    @Override
+    public Stream<Order> streamAllWithItems() {
+        // Items, their books and the books' categories come with the orders: the open stream allows no lazy loads
+        EntityGraph<Order> graph = entityManager.createEntityGraph(Order.class);
+        graph.addSubgraph("orderItems").addSubgraph("book").addAttributeNodes("category");
+        return stream(entityManager.createQuery("SELECT o FROM Order o ORDER BY o.id", Order.class)
+                .setHint(HINT_SPEC_FETCH_GRAPH, graph));
+    }
+}
@@ -0,0 +1,31 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<Long> findDueIds(@Param("status") OutboxEvent.Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Row-locks the event for the rest of the transaction; 0 means another worker already delivered it
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :processed, e.processedAt = :now, e.attempts = e.attempts + 1 " +
+            "WHERE e.id = :id AND e.status = :pending")
+    int markProcessed(@Param("id") Long id, @Param("pending") OutboxEvent.Status pending,
+                      @Param("processed") OutboxEvent.Status processed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :cutoff")
+    int deleteByStatusAndProcessedAtBefore(@Param("status") OutboxEvent.Status status, @Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(OutboxEvent.Status status);
+}
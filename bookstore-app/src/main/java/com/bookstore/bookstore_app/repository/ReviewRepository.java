@@ -1,27 +1,59 @@
 package com.bookstore.bookstore_app.repository;
 
+import com.bookstore.bookstore_app.dto.ReviewSummary;
 import com.bookstore.bookstore_app.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByBookId(Long bookId);
-    List<Review> findByUserId(Long userId);
     Optional<Review> findByUserIdAndBookId(Long userId, Long bookId);
-    List<Review> findByIsApprovedTrue();
-    List<Review> findByIsApprovedFalse();
 
     long countByIsApprovedTrue();
-    long countByIsApprovedFalse();
+    long countByIsApprovedFalseAndIsRejectedFalse();
+
+    // Keyset pages of a book's approved reviews, newest first, read from idx_reviews_book_approved_created
+    @Query("SELECT new com.bookstore.bookstore_app.dto.ReviewSummary(r.id, r.book.id, r.user.id, r.rating, r.reviewText, r.createdAt) " +
+            "FROM Review r WHERE r.book.id = :bookId AND r.isApproved = true ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewSummary> findApprovedByBookId(@Param("bookId") Long bookId, Pageable limit);
+
+    @Query("SELECT new com.bookstore.bookstore_app.dto.ReviewSummary(r.id, r.book.id, r.user.id, r.rating, r.reviewText, r.createdAt) " +
+            "FROM Review r WHERE r.book.id = :bookId AND r.isApproved = true " +
+            "AND (r.createdAt < :lastCreatedAt OR (r.createdAt = :lastCreatedAt AND r.id < :lastId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewSummary> findNextApprovedByBookId(@Param("bookId") Long bookId, @Param("lastCreatedAt") LocalDateTime lastCreatedAt,
+                                                 @Param("lastId") Long lastId, Pageable limit);
+
+    // Moderation queue: unmoderated reviews nobody holds an unexpired claim on, oldest first
+    @Query("SELECT r.id FROM Review r WHERE r.isApproved = false AND r.isRejected = false " +
+            "AND (r.claimedUntil IS NULL OR r.claimedUntil < :now) ORDER BY r.createdAt, r.id")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable limit);
 
-    // Vendor-specific reviews
-    @Query("SELECT r FROM Review r WHERE r.book.vendor.id = :vendorId")
-    List<Review> findByVendorId(@Param("vendorId") Long vendorId);
+    // Re-checks claimability so two moderators racing for the same ids cannot both win a row
+    @Modifying
+    @Query("UPDATE Review r SET r.claimedBy = :adminId, r.claimedUntil = :until WHERE r.id IN :ids " +
+            "AND r.isApproved = false AND r.isRejected = false AND (r.claimedUntil IS NULL OR r.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
 
+    @Query("SELECT new com.bookstore.bookstore_app.dto.ReviewSummary(r.id, r.book.id, r.user.id, r.rating, r.reviewText, r.createdAt) " +
+            "FROM Review r WHERE r.id IN :ids AND r.claimedBy = :adminId AND r.claimedUntil > :now ORDER BY r.createdAt, r.id")
+    List<ReviewSummary> findClaimedBy(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId,
+                                      @Param("now") LocalDateTime now);
 
+    // Settles a batch in one statement; only rows still pending and claimed by this admin change
+    @Modifying
+    @Query("UPDATE Review r SET r.isApproved = :approved, r.isRejected = :rejected, r.claimedBy = NULL, r.claimedUntil = NULL " +
+            "WHERE r.id IN :ids AND r.claimedBy = :adminId AND r.isApproved = false AND r.isRejected = false")
+    int moderateClaimed(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId,
+                        @Param("approved") boolean approved, @Param("rejected") boolean rejected);
 }
@@ -0,0 +1,35 @@
+package com.bookstore.bookstore_app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Base for the repository fragments that stream large reads (admin exports, email filter seeding).
+ * MySQL Connector/J only streams a result row by row, instead of buffering all of it, when the
+ * statement's fetch size is Integer.MIN_VALUE, so the size is set on these queries alone rather
+ * than enabling cursor fetch for the whole pool. While such a stream is open its connection can
+ * run no other statement: everything the caller reads from the rows must come from the query itself.
+ */
+abstract class StreamingQuerySupport {
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    // H2 rejects negative fetch sizes, so the H2-backed tests set a positive one
+    @Value("${jdbc.streaming-fetch-size:-2147483648}")
+    private int fetchSize = Integer.MIN_VALUE;
+
+    // Must be consumed inside a transaction and closed
+    protected <T> Stream<T> stream(TypedQuery<T> query) {
+        return query.setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
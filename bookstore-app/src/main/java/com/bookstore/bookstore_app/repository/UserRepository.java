@@ -2,16 +2,20 @@ package com.bookstore.bookstore_app.repository;
 
 import com.bookstore.bookstore_app.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     List<User> findByRole(User.Role role);
     List<User> findByRoleOrderByCreatedAtDesc(User.Role role);
     long countByRole(User.Role role);
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
 }
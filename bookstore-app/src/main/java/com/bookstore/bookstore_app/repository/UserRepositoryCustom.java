@@ -0,0 +1,13 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.User;
+
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+    // Admin NDJSON export - must be consumed inside a transaction and closed
+    Stream<User> streamAll();
+
+    // Registered-email filter seeding - must be consumed inside a transaction and closed
+    Stream<String> streamEmailsBetween(Long afterId, Long upToId);
+}
@@ -0,0 +1,21 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.User;
+
+import java.util.stream.Stream;
+
+class UserRepositoryCustomImpl extends StreamingQuerySupport implements UserRepositoryCustom {
+
+    @Override
+    public Stream<User> streamAll() {
+        return stream(entityManager.createQuery("SELECT u FROM User u ORDER BY u.id", User.class));
+    }
+
+    @Override
+    public Stream<String> streamEmailsBetween(Long afterId, Long upToId) {
+        return stream(entityManager.createQuery(
+                        "SELECT u.email FROM User u WHERE u.id > :afterId AND u.id <= :upToId", String.class)
+                .setParameter("afterId", afterId)
+                .setParameter("upToId", upToId));
+    }
+}
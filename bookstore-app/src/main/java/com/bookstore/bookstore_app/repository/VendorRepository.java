@@ -1,10 +1,8 @@
 package com.bookstore.bookstore_app.repository;
 
-import com.bookstore.bookstore_app.entity.Review;
 import com.bookstore.bookstore_app.entity.Vendor;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -12,12 +10,13 @@ import java.util.Optional;
 @Repository
 public interface VendorRepository extends JpaRepository<Vendor, Long> {
     Optional<Vendor> findByUserId(Long userId);
+
+    // Cached vendor profiles: the owning user is loaded up front so the detached entity still serializes
+    @EntityGraph(attributePaths = "user")
+    Optional<Vendor> findWithUserByUserId(Long userId);
     List<Vendor> findByIsApprovedTrue();
     List<Vendor> findByIsApprovedFalse();
 
     long countByIsApprovedTrue();
     long countByIsApprovedFalse();
-
-    @Query("SELECT r FROM Review r WHERE r.book.vendor.id = :vendorId")
-    List<Review> findByVendorId(@Param("vendorId") Long vendorId);
 }
\ No newline at end of file
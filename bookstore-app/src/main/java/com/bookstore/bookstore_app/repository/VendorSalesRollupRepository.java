@@ -0,0 +1,47 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.VendorSalesRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VendorSalesRollupRepository extends JpaRepository<VendorSalesRollup, Long> {
+
+    // Relative updates so concurrent checkouts never overwrite each other; 0 means no row yet
+    @Modifying
+    @Query("UPDATE VendorSalesRollup r SET r.totalRevenue = r.totalRevenue + :revenue, " +
+            "r.orderCount = r.orderCount + 1, r.unitsSold = r.unitsSold + :units, " +
+            "r.updatedAt = CURRENT_TIMESTAMP WHERE r.vendorId = :vendorId")
+    int addSale(@Param("vendorId") Long vendorId, @Param("revenue") BigDecimal revenue, @Param("units") long units);
+
+    @Modifying
+    @Query("UPDATE VendorSalesRollup r SET r.approvedBooks = r.approvedBooks + :approvedDelta, " +
+            "r.pendingBooks = r.pendingBooks + :pendingDelta, " +
+            "r.updatedAt = CURRENT_TIMESTAMP WHERE r.vendorId = :vendorId")
+    int addBooks(@Param("vendorId") Long vendorId, @Param("approvedDelta") long approvedDelta,
+                 @Param("pendingDelta") long pendingDelta);
+
+    // Rebuilds hold the row lock while they read history, so relative updates queue behind them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM VendorSalesRollup r WHERE r.vendorId = :vendorId")
+    Optional<VendorSalesRollup> lockByVendorId(@Param("vendorId") Long vendorId);
+
+    // Plain INSERT rather than save(), which would read the row first
+    @Modifying
+    @Query(value = "INSERT INTO vendor_sales_rollups (vendor_id, total_revenue, order_count, units_sold, " +
+            "approved_books, pending_books, updated_at) VALUES (:vendorId, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP)",
+            nativeQuery = true)
+    int insertEmpty(@Param("vendorId") Long vendorId);
+
+    @Query("SELECT v.id FROM Vendor v WHERE NOT EXISTS " +
+            "(SELECT r.vendorId FROM VendorSalesRollup r WHERE r.vendorId = v.id) ORDER BY v.id")
+    List<Long> findVendorIdsWithoutRollup();
+}
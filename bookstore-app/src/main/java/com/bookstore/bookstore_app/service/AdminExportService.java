@@ -0,0 +1,110 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.entity.Order;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.OrderRepository;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams admin bulk lists as NDJSON (one JSON document per line). Rows are read through
+ * streaming queries (see StreamingQuerySupport) and the persistence context is cleared every
+ * FLUSH_EVERY rows, along with the books and categories fetched with orders, so memory stays
+ * flat however large the table is.
+ */
+@Service
+public class AdminExportService {
+
+    private static final Logger logger = LogManager.getLogger(AdminExportService.class);
+
+    // Output flush and persistence context clear interval, in rows
+    static final int FLUSH_EVERY = 500;
+    private static final byte[] NEWLINE = {'\n'};
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        logger.info("Starting user export");
+        try (Stream<User> users = userRepository.streamAll()) {
+            long count = writeNdjson(users, out, true);
+            logger.info("User export finished - {} users written", count);
+            return count;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out) throws IOException {
+        logger.info("Starting order export");
+        try (Stream<Order> orders = orderRepository.streamAllWithItems()) {
+            // Clearing also drops the books and categories fetched with the items, which detach would keep
+            long count = writeNdjson(orders, out, true);
+            logger.info("Order export finished - {} orders written", count);
+            return count;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream out) throws IOException {
+        logger.info("Starting book export");
+        try (Stream<AdminBookSummary> books = bookRepository.streamAllAdminSummaries()) {
+            // Projections are not managed, nothing to clear
+            long count = writeNdjson(books, out, false);
+            logger.info("Book export finished - {} books written", count);
+            return count;
+        }
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, OutputStream out, boolean managed) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            writer.writeValue(out, row);
+            out.write(NEWLINE);
+            if (++count % FLUSH_EVERY == 0) {
+                out.flush();
+                if (managed) {
+                    entityManager.clear();
+                }
+                logger.debug("Export progress - {} rows written", count);
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
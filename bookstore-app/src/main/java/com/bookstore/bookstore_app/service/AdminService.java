@@ -1,5 +1,15 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.config.CacheRegion;
+import com.bookstore.bookstore_app.config.LoggingMonitor;
+import com.bookstore.bookstore_app.config.PinnedThreadMonitor;
+import com.bookstore.bookstore_app.config.RequestMetrics;
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.dto.CacheRegionStats;
+import com.bookstore.bookstore_app.dto.EndpointMetrics;
+import com.bookstore.bookstore_app.dto.LoggingStats;
+import com.bookstore.bookstore_app.dto.ThreadingStats;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.entity.Review;
 import com.bookstore.bookstore_app.entity.User;
@@ -9,10 +19,13 @@ import com.bookstore.bookstore_app.repository.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -36,6 +49,28 @@ public class AdminService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private VendorRollupService vendorRollupService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private LoggingMonitor loggingMonitor;
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     public Book approveBook(Long bookId) {
         logger.info("Approving book with ID: {}", bookId);
         try {
@@ -45,8 +80,11 @@ public class AdminService {
                         return new RuntimeException("Book not found");
                     });
 
+            boolean wasApproved = book.isApproved();
             book.setApproved(true);
             Book savedBook = bookRepository.save(book);
+            dashboardMetrics.bookApprovalChanged(wasApproved, true);
+            vendorRollupService.bookApprovalChanged(VendorRollupService.vendorIdOf(savedBook), wasApproved, true);
             logger.info("Book approved successfully - ID: {}, Title: {}", savedBook.getId(), savedBook.getTitle());
             return savedBook;
         } catch (Exception e) {
@@ -55,6 +93,7 @@ public class AdminService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     public Book disapproveBook(Long bookId) {
         logger.info("Disapproving book with ID: {}", bookId);
         try {
@@ -64,8 +103,11 @@ public class AdminService {
                         return new RuntimeException("Book not found");
                     });
 
+            boolean wasApproved = book.isApproved();
             book.setApproved(false);
             Book savedBook = bookRepository.save(book);
+            dashboardMetrics.bookApprovalChanged(wasApproved, false);
+            vendorRollupService.bookApprovalChanged(VendorRollupService.vendorIdOf(savedBook), wasApproved, false);
             logger.info("Book disapproved successfully - ID: {}, Title: {}", savedBook.getId(), savedBook.getTitle());
             return savedBook;
         } catch (Exception e) {
@@ -83,8 +125,13 @@ public class AdminService {
                         return new RuntimeException("Review not found");
                     });
 
+            boolean wasApproved = review.isApproved();
             review.setApproved(true);
+            review.setRejected(false);
+            review.setClaimedBy(null);
+            review.setClaimedUntil(null);
             Review savedReview = reviewRepository.save(review);
+            dashboardMetrics.reviewApprovalChanged(wasApproved, true);
             logger.info("Review approved successfully with ID: {}", savedReview.getId());
             return savedReview;
         } catch (Exception e) {
@@ -93,10 +140,10 @@ public class AdminService {
         }
     }
 
-    public List<Book> getPendingBooks() {
+    public List<AdminBookSummary> getPendingBooks() {
         logger.debug("Fetching pending books for approval");
         try {
-            List<Book> pendingBooks = bookRepository.findByIsApprovedFalse();
+            List<AdminBookSummary> pendingBooks = bookRepository.findAdminSummariesByIsApprovedFalse();
             logger.info("Found {} pending books for approval", pendingBooks.size());
             return pendingBooks;
         } catch (Exception e) {
@@ -105,10 +152,10 @@ public class AdminService {
         }
     }
 
-    public List<Book> getAllBooks() {
+    public List<AdminBookSummary> getAllBooks() {
         logger.debug("Admin fetching all books");
         try {
-            List<Book> books = bookRepository.findAll();
+            List<AdminBookSummary> books = bookRepository.findAllAdminSummaries();
             logger.info("Admin retrieved {} books from database", books.size());
             return books;
         } catch (Exception e) {
@@ -138,8 +185,11 @@ public class AdminService {
                         return new RuntimeException("Vendor not found");
                     });
 
+            boolean wasApproved = vendor.isApproved();
             vendor.setApproved(true);
             Vendor savedVendor = vendorRepository.save(vendor);
+            dashboardMetrics.vendorApprovalChanged(wasApproved, true);
+            evictVendorProfile(savedVendor);
             logger.info("Vendor approved successfully - ID: {}, Business: {}",
                     savedVendor.getId(), savedVendor.getBusinessName());
             return savedVendor;
@@ -158,8 +208,11 @@ public class AdminService {
                         return new RuntimeException("Vendor not found");
                     });
 
+            boolean wasApproved = vendor.isApproved();
             vendor.setApproved(false);
             Vendor savedVendor = vendorRepository.save(vendor);
+            dashboardMetrics.vendorApprovalChanged(wasApproved, false);
+            evictVendorProfile(savedVendor);
             logger.info("Vendor disapproved successfully - ID: {}, Business: {}",
                     savedVendor.getId(), savedVendor.getBusinessName());
             return savedVendor;
@@ -196,7 +249,7 @@ public class AdminService {
     public List<Order> getAllOrders() {
         logger.debug("Admin fetching all orders");
         try {
-            List<Order> orders = orderRepository.findAllByOrderByCreatedAtDesc();
+            List<Order> orders = orderRepository.findAllWithItems();
             logger.info("Admin retrieved {} orders from database", orders.size());
             return orders;
         } catch (Exception e) {
@@ -217,6 +270,7 @@ public class AdminService {
             User.Role oldRole = user.getRole();
             user.setRole(newRole);
             User savedUser = userRepository.save(user);
+            userIdentityCache.evict(savedUser);
 
             logger.info("User role updated successfully - User ID: {}, Old Role: {}, New Role: {}",
                     userId, oldRole, newRole);
@@ -231,58 +285,11 @@ public class AdminService {
     public Map<String, Object> getAdminDashboard() {
         logger.debug("Generating admin dashboard data");
         try {
-            // Get statistics using the new repository methods
-            long totalUsers = userRepository.count();
-            long totalBooks = bookRepository.count();
-            long approvedBooks = bookRepository.countByIsApprovedTrue();
-            long pendingBooks = bookRepository.countByIsApprovedFalse();
-
-            long totalVendors = vendorRepository.count();
-            long approvedVendors = vendorRepository.countByIsApprovedTrue();
-            long pendingVendors = vendorRepository.countByIsApprovedFalse();
-
-            long totalOrders = orderRepository.count();
-            BigDecimal totalRevenue = orderRepository.getTotalRevenue();
-
-            long totalReviews = reviewRepository.count();
-            long approvedReviews = reviewRepository.countByIsApprovedTrue();
-            long pendingReviews = reviewRepository.countByIsApprovedFalse();
-
-            Map<String, Object> dashboard = Map.of(
-                    "users", Map.of(
-                            "total", totalUsers
-                    ),
-                    "books", Map.of(
-                            "total", totalBooks,
-                            "approved", approvedBooks,
-                            "pending", pendingBooks
-                    ),
-                    "vendors", Map.of(
-                            "total", totalVendors,
-                            "approved", approvedVendors,
-                            "pending", pendingVendors
-                    ),
-                    "orders", Map.of(
-                            "total", totalOrders,
-                            "totalRevenue", totalRevenue
-                    ),
-                    "reviews", Map.of(
-                            "total", totalReviews,
-                            "approved", approvedReviews,
-                            "pending", pendingReviews
-                    ),
-                    "recentBooks", bookRepository.findByOrderByCreatedAtDesc(
-                            PageRequest.of(0, 5)
-                    ).getContent(),
-                    "pendingApprovals", Map.of(
-                            "books", Math.min(pendingBooks, 5),
-                            "vendors", Math.min(pendingVendors, 5),
-                            "reviews", Math.min(pendingReviews, 5)
-                    )
-            );
-
-            logger.info("Admin dashboard generated - {} users, {} books, {} vendors, {} orders",
-                    totalUsers, totalBooks, totalVendors, totalOrders);
+            // Served from in-memory counters kept current by the service write paths
+            Map<String, Object> dashboard = dashboardMetrics.snapshot();
+
+            logger.info("Admin dashboard generated - Users: {}, Books: {}, Orders: {}",
+                    dashboard.get("users"), dashboard.get("books"), dashboard.get("orders"));
             return dashboard;
 
         } catch (Exception e) {
@@ -290,4 +297,42 @@ public class AdminService {
             throw e;
         }
     }
+
+    public List<CacheRegionStats> getCacheStats() {
+        logger.debug("Collecting cache region statistics");
+        List<CacheRegionStats> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CacheRegion region) {
+                stats.add(region.stats());
+            }
+        }
+        return stats;
+    }
+
+    public ThreadingStats getThreadingStats() {
+        logger.debug("Collecting request threading statistics");
+        return pinnedThreadMonitor.stats();
+    }
+
+    public List<EndpointMetrics> getRequestStats() {
+        logger.debug("Collecting per-endpoint request statistics");
+        return requestMetrics.snapshot();
+    }
+
+    public LoggingStats getLoggingStats() {
+        logger.debug("Collecting logging pipeline statistics");
+        return loggingMonitor.stats();
+    }
+
+    // Vendor profiles are cached by the owning user's ID, not the vendor ID
+    private void evictVendorProfile(Vendor vendor) {
+        Cache vendors = cacheManager.getCache(CacheConfig.VENDORS);
+        if (vendors != null && vendor.getUser() != null) {
+            vendors.evict(vendor.getUser().getId());
+        }
+    }
 }
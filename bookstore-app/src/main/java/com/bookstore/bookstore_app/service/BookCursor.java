@@ -0,0 +1,103 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.BookSummary;
+import com.bookstore.bookstore_app.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for catalog listings. Encodes the sort order plus the sort key
+ * and id of the last row returned, e.g. (price, id) or (createdAt, id).
+ */
+public final class BookCursor {
+
+    public enum Sort {
+        ID("id"),
+        PRICE_ASC("price-asc"),
+        PRICE_DESC("price-desc"),
+        NEWEST("newest");
+
+        private final String param;
+
+        Sort(String param) {
+            this.param = param;
+        }
+
+        public static Sort fromParam(String value) {
+            for (Sort sort : values()) {
+                if (sort.param.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                    return sort;
+                }
+            }
+            throw new BusinessException("Unsupported sort: " + value);
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final Sort sort;
+    private final String key;
+    private final Long lastId;
+
+    private BookCursor(Sort sort, String key, Long lastId) {
+        this.sort = sort;
+        this.key = key;
+        this.lastId = lastId;
+    }
+
+    public static BookCursor after(Sort sort, BookSummary last) {
+        String key;
+        switch (sort) {
+            case PRICE_ASC:
+            case PRICE_DESC:
+                key = last.getPrice().toPlainString();
+                break;
+            case NEWEST:
+                key = last.getCreatedAt().toString();
+                break;
+            default:
+                key = "";
+        }
+        return new BookCursor(sort, key, last.getId());
+    }
+
+    public static BookCursor decode(String cursor, Sort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            Sort sort = Sort.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort");
+            }
+            BookCursor decoded = new BookCursor(sort, parts[1], Long.valueOf(parts[2]));
+            // Parse eagerly so a tampered cursor fails here rather than in the query
+            if (sort == Sort.PRICE_ASC || sort == Sort.PRICE_DESC) {
+                decoded.getPrice();
+            } else if (sort == Sort.NEWEST) {
+                decoded.getCreatedAt();
+            }
+            return decoded;
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort getSort() { return sort; }
+
+    public Long getLastId() { return lastId; }
+
+    public BigDecimal getPrice() { return new BigDecimal(key); }
+
+    public LocalDateTime getCreatedAt() { return LocalDateTime.parse(key); }
+}
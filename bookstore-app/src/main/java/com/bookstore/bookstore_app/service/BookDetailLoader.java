@@ -0,0 +1,114 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight loader for book detail reads. Concurrent callers asking for the same ID share
+ * one in-flight {@code findWithCategoryById} and all receive its result (or its exception).
+ * IDs that turned out not to exist are remembered for a short TTL so repeated lookups of
+ * missing books are answered without a query.
+ */
+@Component
+public class BookDetailLoader {
+
+    private static final Logger logger = LogManager.getLogger(BookDetailLoader.class);
+
+    private final Map<Long, CompletableFuture<Optional<Book>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    private final Cache<Long, Boolean> missing;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    public BookDetailLoader(@Value("${books.not-found-ttl-ms:10000}") long notFoundTtlMs,
+                            @Value("${books.not-found-max-entries:100000}") long notFoundMaxEntries) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(notFoundMaxEntries)
+                .expireAfterWrite(Duration.ofMillis(notFoundTtlMs))
+                .build();
+    }
+
+    public Optional<Book> load(Long id) {
+        if (missing.getIfPresent(id) != null) {
+            logger.debug("Book ID: {} is in the not-found cache", id);
+            return Optional.empty();
+        }
+
+        CompletableFuture<Optional<Book>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Book>> existing = inFlight.putIfAbsent(id, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            Optional<Book> book = bookRepository.findWithCategoryById(id);
+            if (book.isEmpty()) {
+                missing.put(id, Boolean.TRUE);
+            }
+            mine.complete(book);
+            return book;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Later callers start a fresh load; waiters already holding the future still get this result
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * Clears a not-found entry; called when a book is created so a probe for the next ID
+     * cannot hide the new book until the entry expires.
+     */
+    public void bookCreated(Long id) {
+        if (id != null) {
+            missing.invalidate(id);
+        }
+    }
+
+    // In-memory check only: true when a recent load or rating flush found no such book
+    public boolean isKnownMissing(Long id) {
+        return missing.getIfPresent(id) != null;
+    }
+
+    // Remembers an ID that a write outside this loader found missing (e.g. a rating flush)
+    public void bookMissing(Long id) {
+        if (id != null) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+
+    // Lookups answered by another caller's load; used by tests and diagnostics
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static Optional<Book> await(CompletableFuture<Optional<Book>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.BookSearchResult;
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book title, author, ISBN and description.
+ * Built from the database at startup and kept current by {@link BookSearchIndexListener},
+ * so catalog search never has to run LIKE '%x%' scans against MySQL.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger logger = LogManager.getLogger(BookSearchIndex.class);
+
+    // Field weights used for ranking; an ISBN hit is the strongest signal
+    private static final double ISBN_WEIGHT = 5.0;
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // Prefix matches score lower than exact term matches
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern ISBN_QUERY = Pattern.compile("[0-9Xx][0-9Xx\\- ]*");
+
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private final Map<Long, IndexedBook> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        logger.info("Building book search index");
+        try {
+            List<Book> books = bookRepository.findAll();
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                books.forEach(this::indexLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Book search index built with {} books and {} terms", books.size(), postings.size());
+        } catch (Exception e) {
+            logger.error("Failed to build book search index - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            indexLocked(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Indexed book ID: {}", book.getId());
+    }
+
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Removed book ID: {} from search index", bookId);
+    }
+
+    /**
+     * Ranked search. Every query token must match (exactly or as a prefix) somewhere in the book;
+     * the score is the sum of the field weights of the matched terms.
+     */
+    public List<BookSearchResult> search(String query, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = matchToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<BookSearchResult> results = new ArrayList<>(Math.min(scores.size(), limit));
+            scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .forEach(entry -> results.add(documents.get(entry.getKey()).toResult(entry.getValue())));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ratings are written by RatingAggregator with plain SQL, so no entity event reaches the listener
+    public void updateRating(Long bookId, BigDecimal ratingAvg) {
+        lock.writeLock().lock();
+        try {
+            IndexedBook existing = documents.get(bookId);
+            if (existing != null) {
+                existing.ratingAvg = ratingAvg;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> matchToken(String token) {
+        Map<Long, Double> matches = new HashMap<>();
+
+        Map<Long, Double> exact = postings.get(token);
+        if (exact != null) {
+            matches.putAll(exact);
+        }
+
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Map<Long, Double>> term
+                    : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                term.getValue().forEach((id, weight) ->
+                        matches.merge(id, weight * PREFIX_FACTOR, Math::max));
+            }
+        }
+        return matches;
+    }
+
+    private void indexLocked(Book book) {
+        removeLocked(book.getId());
+
+        Map<String, Double> termWeights = new HashMap<>();
+        addField(termWeights, tokenize(book.getTitle()), TITLE_WEIGHT);
+        addField(termWeights, tokenize(book.getAuthor()), AUTHOR_WEIGHT);
+        addField(termWeights, tokenize(book.getDescription()), DESCRIPTION_WEIGHT);
+        String isbn = normalizeIsbn(book.getIsbn());
+        if (!isbn.isEmpty()) {
+            termWeights.merge(isbn, ISBN_WEIGHT, Double::sum);
+        }
+
+        Long id = book.getId();
+        termWeights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+        documents.put(id, new IndexedBook(book, termWeights.keySet()));
+    }
+
+    private void removeLocked(Long bookId) {
+        IndexedBook existing = documents.remove(bookId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms) {
+            Map<Long, Double> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(bookId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Double> termWeights, Collection<String> tokens, double weight) {
+        for (String token : new HashSet<>(tokens)) {
+            termWeights.merge(token, weight, Double::sum);
+        }
+    }
+
+    private static List<String> queryTokens(String query) {
+        if (query == null || query.isBlank()) {
+            return Collections.emptyList();
+        }
+        String trimmed = query.trim();
+        // A query that looks like an ISBN is matched as one token, hyphens and spaces removed
+        if (ISBN_QUERY.matcher(trimmed).matches()) {
+            return List.of(normalizeIsbn(trimmed));
+        }
+        return new ArrayList<>(new LinkedHashSet<>(tokenize(trimmed)));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String normalizeIsbn(String isbn) {
+        if (isbn == null) {
+            return "";
+        }
+        return isbn.replaceAll("[^0-9Xx]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // Snapshot of the fields needed to answer a search without going back to the database
+    private static final class IndexedBook {
+        private final Long id;
+        private final String title;
+        private final String author;
+        private final String isbn;
+        private final BigDecimal price;
+        private BigDecimal ratingAvg; // guarded by the index lock
+        private final String imageUrl;
+        private final Set<String> terms;
+
+        private IndexedBook(Book book, Set<String> terms) {
+            this.id = book.getId();
+            this.title = book.getTitle();
+            this.author = book.getAuthor();
+            this.isbn = book.getIsbn();
+            this.price = book.getPrice();
+            this.ratingAvg = book.getRatingAvg();
+            this.imageUrl = book.getImageUrl();
+            this.terms = Set.copyOf(terms);
+        }
+
+        private BookSearchResult toResult(double score) {
+            return new BookSearchResult(id, title, author, isbn, price, ratingAvg, imageUrl, score);
+        }
+    }
+}
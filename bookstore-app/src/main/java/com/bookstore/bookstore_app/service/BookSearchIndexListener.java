@@ -0,0 +1,50 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA lifecycle hooks that keep {@link BookSearchIndex} in step with every book
+ * written through BookService, VendorService or AdminService.
+ * Changes are applied after commit so a rolled-back write never reaches the index.
+ */
+@Component
+public class BookSearchIndexListener {
+
+    // Lazy: Hibernate resolves entity listeners while the EntityManagerFactory is still being built
+    @Autowired
+    @Lazy
+    private BookSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        afterCommit(() -> searchIndex.index(book));
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        Long bookId = book.getId();
+        afterCommit(() -> searchIndex.remove(bookId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.dto.BookSearchResult;
+import com.bookstore.bookstore_app.dto.BookSummary;
+import com.bookstore.bookstore_app.dto.CursorPage;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.repository.BookRepository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 @Service
@@ -22,10 +26,28 @@ public class BookService {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private VendorRollupService vendorRollupService;
+
+    @Autowired
+    private RatingAggregator ratingAggregator;
+
+    @Autowired
+    private BookDetailLoader bookDetailLoader;
+
     public Book addBook(Book book) {
         logger.info("Adding new book: {}", book.getTitle());
         try {
             Book savedBook = bookRepository.save(book);
+            dashboardMetrics.bookAdded(savedBook.isApproved());
+            vendorRollupService.bookAdded(VendorRollupService.vendorIdOf(savedBook), savedBook.isApproved());
+            bookDetailLoader.bookCreated(savedBook.getId());
             logger.info("Book added successfully with ID: {} - Title: {}", savedBook.getId(), savedBook.getTitle());
             return savedBook;
         } catch (Exception e) {
@@ -34,6 +56,7 @@ public class BookService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public Book updateBook(Long id, Book updatedBook) {
         logger.info("Updating book with ID: {}", id);
         try {
@@ -53,6 +76,7 @@ public class BookService {
             book.setImageUrl(updatedBook.getImageUrl());
 
             Book savedBook = bookRepository.save(book);
+            dashboardMetrics.bookChanged();
             logger.info("Book updated successfully - ID: {}, Title: {}", savedBook.getId(), savedBook.getTitle());
             return savedBook;
         } catch (Exception e) {
@@ -61,14 +85,18 @@ public class BookService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public void deleteBook(Long id) {
         logger.info("Deleting book with ID: {}", id);
         try {
-            if (!bookRepository.existsById(id)) {
-                logger.warn("Cannot delete - Book not found with ID: {}", id);
-                throw new RuntimeException("Book not found");
-            }
-            bookRepository.deleteById(id);
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.warn("Cannot delete - Book not found with ID: {}", id);
+                        return new RuntimeException("Book not found");
+                    });
+            bookRepository.delete(book);
+            dashboardMetrics.bookRemoved(book.isApproved());
+            vendorRollupService.bookRemoved(VendorRollupService.vendorIdOf(book), book.isApproved());
             logger.info("Book deleted successfully with ID: {}", id);
         } catch (Exception e) {
             logger.error("Failed to delete book with ID: {} - Error: {}", id, e.getMessage(), e);
@@ -76,10 +104,10 @@ public class BookService {
         }
     }
 
-    public List<Book> getAllBooks() {
+    public List<BookSummary> getAllBooks() {
         logger.debug("Fetching all books from database");
         try {
-            List<Book> books = bookRepository.findAll();
+            List<BookSummary> books = bookRepository.findAllSummaries();
             logger.info("Retrieved {} books from database", books.size());
             return books;
         } catch (Exception e) {
@@ -104,10 +132,32 @@ public class BookService {
         }
     }
 
-    public List<Book> searchByTitle(String title) {
+    /**
+     * Full entity for the book detail page; the category is loaded in the same select.
+     * Cache misses go through {@link BookDetailLoader}, so a burst of requests for one book
+     * costs a single query. List endpoints return {@link BookSummary} projections instead.
+     */
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
+    public Book getBookDetails(Long id) {
+        logger.debug("Fetching book details for ID: {}", id);
+        try {
+            Book book = bookDetailLoader.load(id)
+                    .orElseThrow(() -> {
+                        logger.warn("Book not found with ID: {}", id);
+                        return new RuntimeException("Book not found");
+                    });
+            logger.debug("Found book details: {} by {}", book.getTitle(), book.getAuthor());
+            return book;
+        } catch (Exception e) {
+            logger.error("Failed to fetch book details with ID: {} - Error: {}", id, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    public List<BookSummary> searchByTitle(String title) {
         logger.info("Searching books by title: {}", title);
         try {
-            List<Book> books = bookRepository.findByTitleContainingIgnoreCase(title);
+            List<BookSummary> books = bookRepository.findSummariesByTitle(title);
             logger.info("Found {} books matching title: {}", books.size(), title);
             return books;
         } catch (Exception e) {
@@ -116,10 +166,10 @@ public class BookService {
         }
     }
 
-    public List<Book> searchByAuthor(String author) {
+    public List<BookSummary> searchByAuthor(String author) {
         logger.info("Searching books by author: {}", author);
         try {
-            List<Book> books = bookRepository.findByAuthorContainingIgnoreCase(author);
+            List<BookSummary> books = bookRepository.findSummariesByAuthor(author);
             logger.info("Found {} books by author: {}", books.size(), author);
             return books;
         } catch (Exception e) {
@@ -140,10 +190,22 @@ public class BookService {
         }
     }
 
-    public List<Book> searchByRating(Double rating) {
+    public List<BookSearchResult> searchCatalog(String query, int limit) {
+        logger.info("Searching catalog index for: {} (limit {})", query, limit);
+        try {
+            List<BookSearchResult> results = bookSearchIndex.search(query, limit);
+            logger.info("Found {} books in catalog index for: {}", results.size(), query);
+            return results;
+        } catch (Exception e) {
+            logger.error("Failed to search catalog index for: {} - Error: {}", query, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    public List<BookSummary> searchByRating(Double rating) {
         logger.info("Searching books with rating >= {}", rating);
         try {
-            List<Book> books = bookRepository.findByRatingGreaterThanEqual(rating);
+            List<BookSummary> books = bookRepository.findSummariesByRatingGreaterThanEqual(rating);
             logger.info("Found {} books with rating >= {}", books.size(), rating);
             return books;
         } catch (Exception e) {
@@ -152,11 +214,11 @@ public class BookService {
         }
     }
 
-    public Page<Book> getBooksWithPagination(int page, int size) {
+    public Page<BookSummary> getBooksWithPagination(int page, int size) {
         logger.debug("Fetching books with pagination - Page: {}, Size: {}", page, size);
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Book> books = bookRepository.findAll(pageable);
+            Page<BookSummary> books = bookRepository.findSummaries(pageable);
             logger.info("Retrieved {} books on page {} (Total: {})", books.getNumberOfElements(), page, books.getTotalElements());
             return books;
         } catch (Exception e) {
@@ -165,11 +227,11 @@ public class BookService {
         }
     }
 
-    public Page<Book> getBooksSortedByPriceAsc(int page, int size) {
+    public Page<BookSummary> getBooksSortedByPriceAsc(int page, int size) {
         logger.debug("Fetching books sorted by price (ascending) - Page: {}, Size: {}", page, size);
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Book> books = bookRepository.findByOrderByPriceAsc(pageable);
+            Page<BookSummary> books = bookRepository.findSummariesOrderByPriceAsc(pageable);
             logger.info("Retrieved {} books sorted by price (asc) on page {}", books.getNumberOfElements(), page);
             return books;
         } catch (Exception e) {
@@ -178,11 +240,11 @@ public class BookService {
         }
     }
 
-    public Page<Book> getBooksSortedByPriceDesc(int page, int size) {
+    public Page<BookSummary> getBooksSortedByPriceDesc(int page, int size) {
         logger.debug("Fetching books sorted by price (descending) - Page: {}, Size: {}", page, size);
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Book> books = bookRepository.findByOrderByPriceDesc(pageable);
+            Page<BookSummary> books = bookRepository.findSummariesOrderByPriceDesc(pageable);
             logger.info("Retrieved {} books sorted by price (desc) on page {}", books.getNumberOfElements(), page);
             return books;
         } catch (Exception e) {
@@ -191,11 +253,11 @@ public class BookService {
         }
     }
 
-    public Page<Book> getNewArrivals(int page, int size) {
+    public Page<BookSummary> getNewArrivals(int page, int size) {
         logger.debug("Fetching new arrivals - Page: {}, Size: {}", page, size);
         try {
             Pageable pageable = PageRequest.of(page, size);
-            Page<Book> books = bookRepository.findByOrderByCreatedAtDesc(pageable);
+            Page<BookSummary> books = bookRepository.findSummariesOrderByCreatedAtDesc(pageable);
             logger.info("Retrieved {} new arrivals on page {}", books.getNumberOfElements(), page);
             return books;
         } catch (Exception e) {
@@ -204,12 +266,62 @@ public class BookService {
         }
     }
 
+    /**
+     * Keyset pagination: seeks past the (sort key, id) encoded in the cursor instead of using OFFSET,
+     * so deep pages cost the same as the first. The COUNT(*) query only runs when includeCount is set.
+     */
+    public CursorPage<BookSummary> getBooksByCursor(BookCursor.Sort sort, String cursor, int size, boolean includeCount) {
+        logger.debug("Fetching books by cursor - Sort: {}, Size: {}, Has cursor: {}", sort, size, cursor != null);
+        try {
+            // Fetch one extra row to learn whether another page exists
+            Pageable limit = PageRequest.of(0, size + 1);
+            List<BookSummary> books;
+
+            if (cursor == null || cursor.isBlank()) {
+                switch (sort) {
+                    case PRICE_ASC: books = bookRepository.findKeysetSummariesOrderByPriceAsc(limit); break;
+                    case PRICE_DESC: books = bookRepository.findKeysetSummariesOrderByPriceDesc(limit); break;
+                    case NEWEST: books = bookRepository.findKeysetSummariesOrderByCreatedAtDesc(limit); break;
+                    default: books = bookRepository.findKeysetSummariesOrderById(limit);
+                }
+            } else {
+                BookCursor after = BookCursor.decode(cursor, sort);
+                switch (sort) {
+                    case PRICE_ASC:
+                        books = bookRepository.findKeysetSummariesAfterPriceAsc(after.getPrice(), after.getLastId(), limit);
+                        break;
+                    case PRICE_DESC:
+                        books = bookRepository.findKeysetSummariesAfterPriceDesc(after.getPrice(), after.getLastId(), limit);
+                        break;
+                    case NEWEST:
+                        books = bookRepository.findKeysetSummariesAfterCreatedAtDesc(after.getCreatedAt(), after.getLastId(), limit);
+                        break;
+                    default:
+                        books = bookRepository.findKeysetSummariesAfterId(after.getLastId(), limit);
+                }
+            }
+
+            boolean hasNext = books.size() > size;
+            List<BookSummary> content = hasNext ? books.subList(0, size) : books;
+            String nextCursor = hasNext ? BookCursor.after(sort, content.get(content.size() - 1)).encode() : null;
+            Long total = includeCount ? bookRepository.count() : null;
+
+            logger.info("Retrieved {} books by cursor - Sort: {}, Has next: {}", content.size(), sort, hasNext);
+            return new CursorPage<>(content, size, hasNext, nextCursor, total);
+        } catch (Exception e) {
+            logger.error("Failed to fetch books by cursor - Sort: {} - Error: {}", sort, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public Book updateBookImage(Long id, String imageUrl) {
         logger.info("Updating image for book ID: {} - New URL: {}", id, imageUrl);
         try {
             Book book = getBookById(id);
             book.setImageUrl(imageUrl);
             Book savedBook = bookRepository.save(book);
+            dashboardMetrics.bookChanged();
             logger.info("Book image updated successfully for ID: {}", id);
             return savedBook;
         } catch (Exception e) {
@@ -218,48 +330,22 @@ public class BookService {
         }
     }
 
-    public Book rateBook(Long bookId, Integer rating) {
+    public void rateBook(Long bookId, Integer rating) {
         logger.info("Rating book ID: {} with {} stars", bookId, rating);
         try {
-            Book book = bookRepository.findById(bookId)
-                    .orElseThrow(() -> {
-                        logger.error("Book not found for rating with ID: {}", bookId);
-                        return new RuntimeException("Book not found with id: " + bookId);
-                    });
-
-            logger.debug("Found book for rating: {}", book.getTitle());
-            logger.debug("Current rating: {} (Total ratings: {})", book.getRatingAvg(), book.getTotalRatings());
-
-            BigDecimal currentTotalPoints = book.getRatingAvg()
-                    .multiply(BigDecimal.valueOf(book.getTotalRatings()));
-
-            BigDecimal newTotalPoints = currentTotalPoints.add(BigDecimal.valueOf(rating));
-            int newTotalRatings = book.getTotalRatings() + 1;
-
-            BigDecimal newAverage = newTotalPoints.divide(
-                    BigDecimal.valueOf(newTotalRatings),
-                    2,
-                    RoundingMode.HALF_UP
-            );
-
-            book.setRatingAvg(newAverage);
-            book.setTotalRatings(newTotalRatings);
-
-            Book savedBook = bookRepository.save(book);
-
-            logger.info("Book rated successfully - New average: {}, Total ratings: {}", newAverage, newTotalRatings);
-            return savedBook;
-
+            // Accumulated in memory and flushed in batches; no entity load or save per rating
+            ratingAggregator.record(bookId, rating);
+            logger.info("Rating recorded for book ID: {}", bookId);
         } catch (Exception e) {
             logger.error("Error rating book ID: {} - Error: {}", bookId, e.getMessage(), e);
             throw new RuntimeException("Failed to rate book: " + e.getMessage(), e);
         }
     }
 
-    public List<Book> getBooksByCategory(Long categoryId) {
+    public List<BookSummary> getBooksByCategory(Long categoryId) {
         logger.info("Fetching books for category ID: {}", categoryId);
         try {
-            List<Book> books = bookRepository.findByCategoryId(categoryId);
+            List<BookSummary> books = bookRepository.findSummariesByCategoryId(categoryId);
             logger.info("Found {} books for category ID: {}", books.size(), categoryId);
             return books;
         } catch (Exception e) {
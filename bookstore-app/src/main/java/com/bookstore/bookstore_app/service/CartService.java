@@ -1,5 +1,7 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.dto.CartItemDelta;
+import com.bookstore.bookstore_app.dto.CartSnapshot;
 import com.bookstore.bookstore_app.entity.CartItem;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.entity.User;
@@ -10,16 +12,28 @@ import com.bookstore.bookstore_app.exception.BusinessException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class CartService {
     
     private static final Logger logger = LogManager.getLogger(CartService.class);
+
+    static final String SELECT_LINES_SQL =
+            "SELECT id, book_id, quantity FROM cart_items WHERE user_id = ?";
+    static final String UPDATE_LINE_SQL =
+            "UPDATE cart_items SET quantity = ? WHERE id = ?";
+    static final String DELETE_LINE_SQL =
+            "DELETE FROM cart_items WHERE id = ?";
     
     @Autowired
     private CartItemRepository cartItemRepository;
@@ -29,6 +43,9 @@ public class CartService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
     
     public CartItem addToCart(Long userId, Long bookId, int quantity) {
         logger.info("Adding item to cart - User ID: {}, Book ID: {}, Quantity: {}", userId, bookId, quantity);
@@ -163,10 +180,7 @@ public class CartService {
         logger.debug("Calculating cart total for User ID: {}", userId);
         
         try {
-            List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
-            BigDecimal total = cartItems.stream()
-                    .map(item -> item.getBook().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal total = cartItemRepository.sumCartTotal(userId);
             
             logger.debug("Cart total calculated for User ID: {} - Total: {}", userId, total);
             return total;
@@ -176,7 +190,123 @@ public class CartService {
             throw new RuntimeException("Failed to calculate cart total");
         }
     }
+
+    /**
+     * Cart lines, their books and the total from a single query, so checkout prices the order
+     * from the same rows it copies into order items.
+     */
+    public CartSnapshot getCartSnapshot(Long userId) {
+        logger.debug("Loading cart snapshot for User ID: {}", userId);
+        
+        try {
+            List<CartItem> cartItems = cartItemRepository.findWithBooksByUserId(userId);
+            BigDecimal total = cartItems.stream()
+                    .map(item -> item.getBook().getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            
+            logger.debug("Cart snapshot loaded for User ID: {} - Items: {}, Total: {}", userId, cartItems.size(), total);
+            return new CartSnapshot(cartItems, total);
+            
+        } catch (Exception ex) {
+            logger.error("Unexpected error loading cart snapshot for User ID: {}", userId, ex);
+            throw new RuntimeException("Failed to load cart");
+        }
+    }
     
+    /**
+     * Applies a whole set of cart changes in one transaction. Deltas for the same book are summed;
+     * a line whose quantity drops to zero or below is removed. All books are resolved with one
+     * findAllById and stock is checked in memory before anything is written, so either every
+     * change lands or none does. Inserts, updates and deletes each go out as one JDBC batch.
+     */
+    @Transactional
+    public List<CartItem> applyBatch(Long userId, List<CartItemDelta> deltas) {
+        logger.info("Applying cart batch - User ID: {}, Lines: {}", userId, deltas.size());
+
+        try {
+            if (!userRepository.existsById(userId)) {
+                logger.warn("Cart batch failed - User not found with ID: {}", userId);
+                throw new BusinessException("User not found");
+            }
+
+            Map<Long, Integer> deltaByBook = new TreeMap<>();
+            for (CartItemDelta delta : deltas) {
+                deltaByBook.merge(delta.getBookId(), delta.getQuantity(), Integer::sum);
+            }
+
+            Map<Long, Book> books = new HashMap<>();
+            for (Book book : bookRepository.findAllById(deltaByBook.keySet())) {
+                books.put(book.getId(), book);
+            }
+            List<Long> missing = deltaByBook.keySet().stream().filter(id -> !books.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                logger.warn("Cart batch failed - Books not found: {}", missing);
+                throw new BusinessException("Book not found: " + missing);
+            }
+
+            Map<Long, CartLine> current = new HashMap<>();
+            jdbcTemplate.query(SELECT_LINES_SQL,
+                    rs -> { current.put(rs.getLong(2), new CartLine(rs.getLong(1), rs.getInt(3))); },
+                    userId);
+
+            List<CartItem> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> deletes = new ArrayList<>();
+            List<String> shortages = new ArrayList<>();
+            User user = userRepository.getReferenceById(userId);
+
+            for (Map.Entry<Long, Integer> entry : deltaByBook.entrySet()) {
+                Long bookId = entry.getKey();
+                int delta = entry.getValue();
+                CartLine line = current.get(bookId);
+                int oldQuantity = line != null ? line.quantity : 0;
+                int newQuantity = oldQuantity + delta;
+                int stock = books.get(bookId).getStockQuantity();
+
+                // Lowering a quantity is always allowed, even if stock has since dropped below it
+                if (delta > 0 && newQuantity > stock) {
+                    shortages.add("book " + bookId + " (requested " + newQuantity + ", available " + stock + ")");
+                    continue;
+                }
+                if (newQuantity <= 0) {
+                    if (line != null) {
+                        deletes.add(new Object[]{line.id});
+                    }
+                } else if (line == null) {
+                    inserts.add(new CartItem(user, books.get(bookId), newQuantity));
+                } else if (newQuantity != oldQuantity) {
+                    updates.add(new Object[]{newQuantity, line.id});
+                }
+            }
+
+            if (!shortages.isEmpty()) {
+                logger.warn("Cart batch failed - Insufficient stock for User ID: {} - {}", userId, shortages);
+                throw new BusinessException("Insufficient stock available for " + String.join(", ", shortages));
+            }
+
+            if (!inserts.isEmpty()) {
+                // Pooled IDs let Hibernate flush these as one JDBC batch
+                cartItemRepository.saveAll(inserts);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_LINE_SQL, updates);
+            }
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_LINE_SQL, deletes);
+            }
+            logger.info("Cart batch applied - User ID: {}, Added: {}, Updated: {}, Removed: {}",
+                       userId, inserts.size(), updates.size(), deletes.size());
+
+            return cartItemRepository.findByUserId(userId);
+
+        } catch (BusinessException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Unexpected error applying cart batch - User ID: {}", userId, ex);
+            throw new RuntimeException("Failed to apply cart changes");
+        }
+    }
+
     @Transactional
     public void clearCart(Long userId) {
         logger.info("Clearing cart for User ID: {}", userId);
@@ -190,4 +320,14 @@ public class CartService {
             throw new RuntimeException("Failed to clear cart");
         }
     }
-}
\ No newline at end of file
+
+    private static final class CartLine {
+        private final long id;
+        private final int quantity;
+
+        private CartLine(long id, int quantity) {
+            this.id = id;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.BookCreateRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a vendor catalog upload one row at a time, so an import holds a single row in memory
+ * however large the file is. A row that cannot be parsed comes back with an error instead of a
+ * request; only a structurally broken file (missing CSV header columns, runaway quoted field)
+ * throws.
+ */
+abstract class CatalogFileReader implements Closeable {
+
+    enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        String getContentType() { return contentType; }
+
+        static Format fromContentType(String contentType) {
+            if (contentType != null) {
+                String base = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+                for (Format format : values()) {
+                    if (format.contentType.equals(base)) {
+                        return format;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    static final class Row {
+        final long number;
+        final BookCreateRequest request;
+        final String error;
+
+        private Row(long number, BookCreateRequest request, String error) {
+            this.number = number;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    private CatalogFileReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    static CatalogFileReader open(Format format, BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+        return format == Format.CSV ? new Csv(reader) : new Ndjson(reader, objectMapper);
+    }
+
+    /**
+     * Next data row, or null at end of file.
+     */
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    protected Row parsed(BookCreateRequest request) {
+        return new Row(rowNumber, request, null);
+    }
+
+    protected Row failed(String error) {
+        return new Row(rowNumber, null, error);
+    }
+
+    /**
+     * One JSON object per line, with the same field names as the single-book endpoint.
+     */
+    private static final class Ndjson extends CatalogFileReader {
+
+        private final ObjectReader objectReader;
+
+        private Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectReader = objectMapper.readerFor(BookCreateRequest.class);
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                rowNumber++;
+            } while (line.isBlank());
+
+            try {
+                BookCreateRequest request = objectReader.readValue(line);
+                return request != null ? parsed(request) : failed("Expected a JSON object, got null");
+            } catch (JsonProcessingException e) {
+                return failed("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Header names are matched case-insensitively and ignoring
+     * separators, so "stockQuantity", "stock_quantity" and "Stock Quantity" are all accepted.
+     */
+    private static final class Csv extends CatalogFileReader {
+
+        private static final int MAX_FIELD_LENGTH = 10_000;
+        private static final List<String> REQUIRED = List.of("title", "author", "price", "stockquantity");
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private Csv(BufferedReader reader) throws IOException {
+            super(reader);
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IOException("CSV upload is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(normalize(header.get(i)), i);
+            }
+            List<String> missing = REQUIRED.stream().filter(name -> !columns.containsKey(name)).toList();
+            if (!missing.isEmpty()) {
+                throw new IOException("CSV header is missing columns: " + missing);
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+                rowNumber++;
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            try {
+                BookCreateRequest request = new BookCreateRequest();
+                request.setTitle(text(record, "title"));
+                request.setAuthor(text(record, "author"));
+                request.setIsbn(text(record, "isbn"));
+                request.setDescription(text(record, "description"));
+                request.setImageUrl(text(record, "imageurl"));
+                String price = text(record, "price");
+                request.setPrice(price != null ? new BigDecimal(price) : null);
+                String stock = text(record, "stockquantity");
+                request.setStockQuantity(stock != null ? Integer.valueOf(stock) : null);
+                String category = text(record, "categoryid");
+                request.setCategoryId(category != null ? Long.valueOf(category) : null);
+                return parsed(request);
+            } catch (NumberFormatException e) {
+                return failed("Invalid number in row");
+            }
+        }
+
+        private String text(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        // Reads one record, which may span lines inside quotes; null at end of file
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                if (field.length() > MAX_FIELD_LENGTH) {
+                    throw new IOException("CSV field longer than " + MAX_FIELD_LENGTH + " characters near row " + (rowNumber + 1));
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private static String normalize(String header) {
+            return header.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.BookCreateRequest;
+import com.bookstore.bookstore_app.dto.CatalogImportStatus;
+import com.bookstore.bookstore_app.dto.ImportRowError;
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.Category;
+import com.bookstore.bookstore_app.entity.Vendor;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.CategoryRepository;
+import com.bookstore.bookstore_app.repository.VendorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk catalog imports for vendors. The upload is spooled to a temp file while the request is
+ * still open, then a bounded worker pool parses it row by row (CSV or NDJSON), validates each
+ * row against the {@link BookCreateRequest} constraints, drops ISBNs already in the catalogue
+ * or earlier in the file, and inserts the rest in batched transactions of BATCH_SIZE rows. A batch
+ * that loses an ISBN race to another writer is retried row by row, so only the clashing rows fail.
+ * Callers poll the job for progress and per-row errors; finished jobs are kept for the
+ * retention period.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LogManager.getLogger(CatalogImportService.class);
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor workers;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private VendorRollupService vendorRollupService;
+
+    @Autowired
+    private BookDetailLoader bookDetailLoader;
+
+    private final long maxBytes;
+    private final long retentionMs;
+
+    public CatalogImportService(@Value("${catalog.import.workers:2}") int workerCount,
+                                @Value("${catalog.import.queue-capacity:8}") int queueCapacity,
+                                @Value("${catalog.import.max-bytes:104857600}") long maxBytes,
+                                @Value("${catalog.import.retention-ms:3600000}") long retentionMs) {
+        this.maxBytes = maxBytes;
+        this.retentionMs = retentionMs;
+        // Threads are started on the first import
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "catalog-import-" + threadNumber.incrementAndGet()));
+    }
+
+    public CatalogImportStatus startImport(Long userId, String contentType, InputStream body) {
+        logger.info("Starting catalog import - User ID: {}, Content type: {}", userId, contentType);
+
+        CatalogFileReader.Format format = CatalogFileReader.Format.fromContentType(contentType);
+        if (format == null) {
+            logger.warn("Catalog import rejected - Unsupported content type: {}", contentType);
+            throw new BusinessException("Upload must be text/csv or application/x-ndjson");
+        }
+
+        Vendor vendor = vendorRepository.findByUserId(userId)
+                .orElseThrow(() -> {
+                    logger.error("Vendor not found for catalog import: {}", userId);
+                    return new BusinessException("Vendor profile not found");
+                });
+        if (!vendor.isApproved()) {
+            logger.warn("Unapproved vendor attempting catalog import: {}", userId);
+            throw new BusinessException("Vendor account not approved yet");
+        }
+
+        Path file = spool(body);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, vendor.getId(), format, file);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> runImport(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(file);
+            logger.warn("Catalog import rejected - Worker queue full, User ID: {}", userId);
+            throw new BusinessException("Too many catalog imports in progress, try again later");
+        }
+
+        logger.info("Catalog import queued - Job ID: {}, Vendor ID: {}, Format: {}", job.id, vendor.getId(), format);
+        return job.toStatus();
+    }
+
+    public CatalogImportStatus getStatus(Long userId, String jobId) {
+        ImportJob job = jobs.get(jobId);
+        // Another vendor's job looks the same as a missing one
+        if (job == null || !job.userId.equals(userId)) {
+            logger.warn("Catalog import job not found - Job ID: {}, User ID: {}", jobId, userId);
+            throw new BusinessException("Import job not found");
+        }
+        return job.toStatus();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.import.purge-interval-ms:360000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(retentionMs));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    void runImport(ImportJob job) {
+        job.state = CatalogImportStatus.State.RUNNING;
+        logger.info("Catalog import running - Job ID: {}", job.id);
+        Set<String> seenIsbns = new HashSet<>();
+
+        try (BufferedReader in = Files.newBufferedReader(job.file, StandardCharsets.UTF_8);
+             CatalogFileReader reader = CatalogFileReader.open(job.format, in, objectMapper)) {
+            List<CatalogFileReader.Row> chunk = new ArrayList<>(BATCH_SIZE);
+            CatalogFileReader.Row row;
+            while ((row = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                chunk.add(row);
+                if (chunk.size() == BATCH_SIZE) {
+                    importChunk(job, chunk, seenIsbns);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, seenIsbns);
+            }
+            job.finish(CatalogImportStatus.State.COMPLETED, null);
+            logger.info("Catalog import finished - Job ID: {}, Imported: {}, Duplicates: {}, Rejected: {}",
+                       job.id, job.imported.get(), job.duplicates.get(), job.rejected.get());
+        } catch (Exception e) {
+            // Batches committed before the failure stay imported; the counters say how far it got
+            job.finish(CatalogImportStatus.State.FAILED, "Import stopped after " + job.rowsRead.get() + " rows: " + e.getMessage());
+            logger.error("Catalog import failed - Job ID: {} - Error: {}", job.id, e.getMessage(), e);
+        } finally {
+            deleteQuietly(job.file);
+        }
+    }
+
+    private void importChunk(ImportJob job, List<CatalogFileReader.Row> chunk, Set<String> seenIsbns) {
+        List<CatalogFileReader.Row> accepted = new ArrayList<>(chunk.size());
+        for (CatalogFileReader.Row row : chunk) {
+            if (row.error != null) {
+                job.reject(row.number, null, row.error);
+                continue;
+            }
+            BookCreateRequest request = row.request;
+            request.setIsbn(normalizeIsbn(request.getIsbn()));
+            Set<ConstraintViolation<BookCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                job.reject(row.number, request.getIsbn(), violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+                continue;
+            }
+            if (request.getIsbn() != null && !seenIsbns.add(request.getIsbn())) {
+                job.duplicate(row.number, request.getIsbn(), "ISBN appears earlier in the upload");
+                continue;
+            }
+            accepted.add(row);
+        }
+
+        Set<String> isbns = accepted.stream().map(row -> row.request.getIsbn())
+                .filter(isbn -> isbn != null).collect(Collectors.toSet());
+        Set<String> existing = isbns.isEmpty() ? Set.of() : new HashSet<>(bookRepository.findExistingIsbns(isbns));
+        Set<Long> categoryIds = accepted.stream().map(row -> row.request.getCategoryId())
+                .filter(id -> id != null).collect(Collectors.toSet());
+        Map<Long, Category> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            categoryRepository.findAllById(categoryIds).forEach(category -> categories.put(category.getId(), category));
+        }
+
+        List<CatalogFileReader.Row> insertable = new ArrayList<>(accepted.size());
+        for (CatalogFileReader.Row row : accepted) {
+            BookCreateRequest request = row.request;
+            if (existing.contains(request.getIsbn())) {
+                job.duplicate(row.number, request.getIsbn(), "ISBN already in catalog");
+                continue;
+            }
+            if (request.getCategoryId() != null && !categories.containsKey(request.getCategoryId())) {
+                job.reject(row.number, request.getIsbn(), "Category not found: " + request.getCategoryId());
+                continue;
+            }
+            insertable.add(row);
+        }
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        try {
+            saveBooks(job, insertable.stream()
+                    .map(row -> toBook(row.request, categories.get(row.request.getCategoryId())))
+                    .collect(Collectors.toList()));
+        } catch (DataIntegrityViolationException e) {
+            // Someone else added one of these ISBNs after the lookup; the batch rolled back, so retry it
+            // a row at a time and report only the rows that still collide
+            logger.warn("Catalog import batch hit a constraint, retrying row by row - Job ID: {} - Error: {}",
+                       job.id, e.getMessage());
+            for (CatalogFileReader.Row row : insertable) {
+                BookCreateRequest request = row.request;
+                try {
+                    saveBooks(job, List.of(toBook(request, categories.get(request.getCategoryId()))));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    if (request.getIsbn() != null && !bookRepository.findExistingIsbns(Set.of(request.getIsbn())).isEmpty()) {
+                        job.duplicate(row.number, request.getIsbn(), "ISBN already in catalog");
+                    } else {
+                        job.reject(row.number, request.getIsbn(), "Book could not be saved");
+                    }
+                }
+            }
+        }
+    }
+
+    private void saveBooks(ImportJob job, List<Book> books) {
+        List<Book> saved = new TransactionTemplate(transactionManager).execute(status -> {
+            Vendor vendor = vendorRepository.getReferenceById(job.vendorId);
+            books.forEach(book -> book.setVendor(vendor));
+            List<Book> result = bookRepository.saveAll(books);
+            dashboardMetrics.booksAdded(result.size(), false);
+            vendorRollupService.booksAdded(job.vendorId, result.size(), false);
+            return result;
+        });
+        saved.forEach(book -> bookDetailLoader.bookCreated(book.getId()));
+        job.imported.addAndGet(saved.size());
+        logger.debug("Catalog import batch committed - Job ID: {}, Books: {}", job.id, saved.size());
+    }
+
+    // Same field mapping as VendorService.addBook; imported books also await admin approval
+    private static Book toBook(BookCreateRequest request, Category category) {
+        Book book = new Book();
+        book.setTitle(request.getTitle());
+        book.setAuthor(request.getAuthor());
+        book.setIsbn(request.getIsbn());
+        book.setDescription(request.getDescription());
+        book.setPrice(request.getPrice());
+        book.setStockQuantity(request.getStockQuantity());
+        book.setImageUrl(request.getImageUrl());
+        book.setCategory(category);
+        book.setApproved(false);
+        return book;
+    }
+
+    private static String normalizeIsbn(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        String trimmed = isbn.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // Copies the request body to disk so the upload is never held in memory and parsing can outlive the request
+    private Path spool(InputStream body) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("catalog-import-", ".upload");
+            long total = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (OutputStream out = Files.newOutputStream(file)) {
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new BusinessException("Upload exceeds the " + maxBytes + " byte limit");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            return file;
+        } catch (BusinessException e) {
+            deleteQuietly(file);
+            logger.warn("Catalog import rejected - {}", e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            logger.error("Failed to store catalog upload - Error: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to store catalog upload");
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete catalog upload {} - Error: {}", file, e.getMessage());
+        }
+    }
+
+    static final class ImportJob {
+        private final String id;
+        private final Long userId;
+        private final Long vendorId;
+        private final CatalogFileReader.Format format;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private volatile CatalogImportStatus.State state = CatalogImportStatus.State.QUEUED;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id, Long userId, Long vendorId, CatalogFileReader.Format format, Path file) {
+            this.id = id;
+            this.userId = userId;
+            this.vendorId = vendorId;
+            this.format = format;
+            this.file = file;
+        }
+
+        private void reject(long row, String isbn, String reason) {
+            rejected.incrementAndGet();
+            report(row, isbn, reason);
+        }
+
+        private void duplicate(long row, String isbn, String reason) {
+            duplicates.incrementAndGet();
+            report(row, isbn, reason);
+        }
+
+        private synchronized void report(long row, String isbn, String reason) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(row, isbn, reason));
+            }
+        }
+
+        private void finish(CatalogImportStatus.State finalState, String finalMessage) {
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        private synchronized CatalogImportStatus toStatus() {
+            CatalogImportStatus status = new CatalogImportStatus();
+            status.setJobId(id);
+            status.setFormat(format.getContentType());
+            status.setState(state);
+            status.setRowsRead(rowsRead.get());
+            status.setImported(imported.get());
+            status.setDuplicates(duplicates.get());
+            status.setRejected(rejected.get());
+            status.setErrors(new ArrayList<>(errors));
+            status.setErrorsTruncated(duplicates.get() + rejected.get() > errors.size());
+            status.setMessage(message);
+            status.setCreatedAt(createdAt);
+            status.setFinishedAt(finishedAt);
+            return status;
+        }
+    }
+}
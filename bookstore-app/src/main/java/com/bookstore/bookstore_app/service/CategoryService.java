@@ -1,10 +1,14 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.config.CacheConfig;
 import com.bookstore.bookstore_app.entity.Category;
 import com.bookstore.bookstore_app.repository.CategoryRepository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
@@ -16,6 +20,7 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
     public List<Category> getAllCategories() {
         logger.debug("Fetching all categories");
         try {
@@ -29,6 +34,7 @@ public class CategoryService {
     }
 
     // NEW: Get only active categories (commonly used by users)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'active'")
     public List<Category> getAllActiveCategories() {
         logger.debug("Fetching all active categories");
         try {
@@ -41,6 +47,7 @@ public class CategoryService {
         }
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public Category getCategoryById(Long id) {
         logger.debug("Fetching category by ID: {}", id);
         try {
@@ -57,6 +64,7 @@ public class CategoryService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
     public Category addCategory(Category category) {
         logger.info("Adding new category: {}", category.getName());
         try {
@@ -71,6 +79,10 @@ public class CategoryService {
         }
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public Category updateCategory(Long id, Category updatedCategory) {
         logger.info("Updating category with ID: {}", id);
         try {
@@ -96,6 +108,10 @@ public class CategoryService {
     }
 
     // NEW: Toggle category active status (useful for admin)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public Category toggleCategoryStatus(Long id) {
         logger.info("Toggling category status for ID: {}", id);
         try {
@@ -119,6 +135,10 @@ public class CategoryService {
     }
 
     // UPDATED: Soft delete - deactivate instead of hard delete
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public Category deactivateCategory(Long id) {
         logger.info("Deactivating category with ID: {}", id);
         try {
@@ -139,6 +159,10 @@ public class CategoryService {
     }
 
     // Keep the hard delete method for admin use
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         logger.info("Deleting category with ID: {}", id);
         try {
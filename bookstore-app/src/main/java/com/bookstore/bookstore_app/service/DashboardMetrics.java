@@ -0,0 +1,279 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.repository.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory counters behind the admin dashboard, so reading it costs no queries.
+ * The service write paths (registration, approvals, book changes, order creation) apply
+ * deltas after their transaction commits; {@link #reconcile()} reloads every counter from
+ * the database on a fixed delay to correct drift from writes made outside those paths.
+ */
+@Component
+public class DashboardMetrics {
+
+    private static final Logger logger = LogManager.getLogger(DashboardMetrics.class);
+
+    private static final int RECENT_BOOKS = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong approvedBooks = new AtomicLong();
+    private final AtomicLong pendingBooks = new AtomicLong();
+    private final AtomicLong approvedVendors = new AtomicLong();
+    private final AtomicLong pendingVendors = new AtomicLong();
+    private final AtomicLong approvedReviews = new AtomicLong();
+    private final AtomicLong pendingReviews = new AtomicLong();
+    private final AtomicLong orders = new AtomicLong();
+    private final AtomicReference<BigDecimal> revenue = new AtomicReference<>(BigDecimal.ZERO);
+
+    // Bumped on every book write; the cached recent list is only served while its version matches
+    private final AtomicLong bookVersion = new AtomicLong();
+    private volatile RecentBooks recentBooks;
+    private volatile boolean loaded;
+
+    // Serializes reconciles, including a first snapshot racing the scheduler; ReentrantLock so a
+    // virtual thread waiting on the queries is not pinned
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    public void userRegistered() {
+        afterCommit(users::incrementAndGet);
+    }
+
+    public void bookAdded(boolean approved) {
+        booksAdded(1, approved);
+    }
+
+    public void booksAdded(long count, boolean approved) {
+        afterCommit(() -> {
+            (approved ? approvedBooks : pendingBooks).addAndGet(count);
+            bookVersion.incrementAndGet();
+        });
+    }
+
+    public void bookRemoved(boolean approved) {
+        afterCommit(() -> {
+            (approved ? approvedBooks : pendingBooks).decrementAndGet();
+            bookVersion.incrementAndGet();
+        });
+    }
+
+    // Title, price or image edits: no counter moves, but the recent list must be reloaded
+    public void bookChanged() {
+        afterCommit(bookVersion::incrementAndGet);
+    }
+
+    public void bookApprovalChanged(boolean wasApproved, boolean approved) {
+        if (wasApproved != approved) {
+            afterCommit(() -> {
+                move(approvedBooks, pendingBooks, approved);
+                bookVersion.incrementAndGet();
+            });
+        }
+    }
+
+    public void vendorAdded(boolean approved) {
+        afterCommit(() -> (approved ? approvedVendors : pendingVendors).incrementAndGet());
+    }
+
+    public void vendorApprovalChanged(boolean wasApproved, boolean approved) {
+        if (wasApproved != approved) {
+            afterCommit(() -> move(approvedVendors, pendingVendors, approved));
+        }
+    }
+
+    public void reviewApprovalChanged(boolean wasApproved, boolean approved) {
+        if (wasApproved != approved) {
+            afterCommit(() -> move(approvedReviews, pendingReviews, approved));
+        }
+    }
+
+    // Rejected reviews leave the pending count without joining the approved one
+    public void reviewsModerated(int count, boolean approved) {
+        if (count > 0) {
+            afterCommit(() -> {
+                pendingReviews.addAndGet(-count);
+                if (approved) {
+                    approvedReviews.addAndGet(count);
+                }
+            });
+        }
+    }
+
+    public void orderPlaced(BigDecimal totalAmount) {
+        afterCommit(() -> {
+            orders.incrementAndGet();
+            if (totalAmount != null) {
+                revenue.accumulateAndGet(totalAmount, BigDecimal::add);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${admin.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reconcileLocked();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileLocked() {
+        logger.debug("Reconciling dashboard counters against the database");
+        try {
+            long drift = reset(users, userRepository.count(), "users")
+                    + reset(approvedBooks, bookRepository.countByIsApprovedTrue(), "approvedBooks")
+                    + reset(pendingBooks, bookRepository.countByIsApprovedFalse(), "pendingBooks")
+                    + reset(approvedVendors, vendorRepository.countByIsApprovedTrue(), "approvedVendors")
+                    + reset(pendingVendors, vendorRepository.countByIsApprovedFalse(), "pendingVendors")
+                    + reset(approvedReviews, reviewRepository.countByIsApprovedTrue(), "approvedReviews")
+                    + reset(pendingReviews, reviewRepository.countByIsApprovedFalseAndIsRejectedFalse(), "pendingReviews")
+                    + reset(orders, orderRepository.count(), "orders");
+
+            BigDecimal totalRevenue = orderRepository.getTotalRevenue();
+            BigDecimal previousRevenue = revenue.getAndSet(totalRevenue != null ? totalRevenue : BigDecimal.ZERO);
+            if (loaded && previousRevenue.compareTo(revenue.get()) != 0) {
+                logger.warn("Dashboard revenue drifted - Cached: {}, Actual: {}", previousRevenue, revenue.get());
+            }
+
+            bookVersion.incrementAndGet();
+            loaded = true;
+            logger.info("Dashboard counters reconciled - {} users, {} books, {} orders, drift: {}",
+                    users.get(), approvedBooks.get() + pendingBooks.get(), orders.get(), drift);
+        } catch (Exception e) {
+            logger.error("Failed to reconcile dashboard counters - Error: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        if (!loaded) {
+            reconcileLock.lock();
+            try {
+                // Only the first caller waiting here loads; the rest find it done
+                if (!loaded) {
+                    reconcileLocked();
+                }
+            } finally {
+                reconcileLock.unlock();
+            }
+        }
+
+        long booksApproved = approvedBooks.get();
+        long booksPending = pendingBooks.get();
+        long vendorsApproved = approvedVendors.get();
+        long vendorsPending = pendingVendors.get();
+        long reviewsApproved = approvedReviews.get();
+        long reviewsPending = pendingReviews.get();
+
+        return Map.of(
+                "users", Map.of(
+                        "total", users.get()
+                ),
+                "books", Map.of(
+                        "total", booksApproved + booksPending,
+                        "approved", booksApproved,
+                        "pending", booksPending
+                ),
+                "vendors", Map.of(
+                        "total", vendorsApproved + vendorsPending,
+                        "approved", vendorsApproved,
+                        "pending", vendorsPending
+                ),
+                "orders", Map.of(
+                        "total", orders.get(),
+                        "totalRevenue", revenue.get()
+                ),
+                "reviews", Map.of(
+                        "total", reviewsApproved + reviewsPending,
+                        "approved", reviewsApproved,
+                        "pending", reviewsPending
+                ),
+                "recentBooks", getRecentBooks(),
+                "pendingApprovals", Map.of(
+                        "books", Math.min(booksPending, 5),
+                        "vendors", Math.min(vendorsPending, 5),
+                        "reviews", Math.min(reviewsPending, 5)
+                )
+        );
+    }
+
+    private List<AdminBookSummary> getRecentBooks() {
+        RecentBooks cached = recentBooks;
+        long version = bookVersion.get();
+        if (cached != null && cached.version == version) {
+            return cached.books;
+        }
+        List<AdminBookSummary> books = bookRepository.findRecentAdminSummaries(PageRequest.of(0, RECENT_BOOKS));
+        recentBooks = new RecentBooks(version, books);
+        return books;
+    }
+
+    private long reset(AtomicLong counter, long actual, String name) {
+        long previous = counter.getAndSet(actual);
+        if (loaded && previous != actual) {
+            logger.warn("Dashboard counter drifted - {}: cached {}, actual {}", name, previous, actual);
+            return Math.abs(previous - actual);
+        }
+        return 0;
+    }
+
+    private void move(AtomicLong approved, AtomicLong pending, boolean nowApproved) {
+        (nowApproved ? approved : pending).incrementAndGet();
+        (nowApproved ? pending : approved).decrementAndGet();
+    }
+
+    // Rolled-back writes never touch the counters
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class RecentBooks {
+        private final long version;
+        private final List<AdminBookSummary> books;
+
+        private RecentBooks(long version, List<AdminBookSummary> books) {
+            this.version = version;
+            this.books = books;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.exception.TooManyRequestsException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token-bucket limits on login attempts per client address and per account, checked before any
+ * password hashing. Buckets live in a fixed set of lock stripes, each an LRU map capped so that
+ * a flood of distinct addresses or emails cannot grow memory without bound.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final Logger logger = LogManager.getLogger(LoginThrottle.class);
+
+    private static final int STRIPES = 64;
+    private static final double NANOS_PER_MINUTE = 60_000_000_000.0;
+
+    @Value("${auth.login.ip.burst:20}")
+    private int ipBurst = 20;
+
+    @Value("${auth.login.ip.per-minute:30}")
+    private int ipPerMinute = 30;
+
+    @Value("${auth.login.account.burst:5}")
+    private int accountBurst = 5;
+
+    @Value("${auth.login.account.per-minute:5}")
+    private int accountPerMinute = 5;
+
+    @Value("${auth.login.max-tracked-keys:100000}")
+    private int maxTrackedKeys = 100000;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LoginThrottle() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Spends one attempt for the calling request's address and for the account, or throws
+     * {@link TooManyRequestsException} saying how long until the next one is allowed.
+     */
+    public void acquire(String email) {
+        acquire(clientAddress(), email);
+    }
+
+    void acquire(String clientAddress, String email) {
+        long now = System.nanoTime();
+        if (clientAddress != null) {
+            long waitSeconds = take("ip:" + clientAddress, ipBurst, ipPerMinute, now);
+            if (waitSeconds > 0) {
+                logger.warn("Login throttled - Address: {}, retry in {} s", clientAddress, waitSeconds);
+                throw new TooManyRequestsException("Too many login attempts from this address, try again later",
+                        waitSeconds);
+            }
+        }
+        if (email != null) {
+            long waitSeconds = take("account:" + email.trim().toLowerCase(Locale.ROOT), accountBurst,
+                    accountPerMinute, now);
+            if (waitSeconds > 0) {
+                logger.warn("Login throttled - Email: {}, retry in {} s", email, waitSeconds);
+                throw new TooManyRequestsException("Too many login attempts for this account, try again later",
+                        waitSeconds);
+            }
+        }
+    }
+
+    // 0 when a token was taken, otherwise the seconds until one is available
+    private long take(String key, int burst, int perMinute, long now) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            TokenBucket bucket = stripe.computeIfAbsent(key, k -> new TokenBucket(burst, now));
+            return bucket.take(burst, Math.max(1, perMinute) / NANOS_PER_MINUTE, now);
+        }
+    }
+
+    // Behind a proxy, set server.forward-headers-strategy so this is the real client address
+    private static String clientAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private final class Stripe extends LinkedHashMap<String, TokenBucket> {
+
+        private Stripe() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > Math.max(1, maxTrackedKeys / STRIPES);
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int burst, long now) {
+            this.tokens = burst;
+            this.refilledAt = now;
+        }
+
+        private long take(int burst, double tokensPerNano, long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.Order;
+import com.bookstore.bookstore_app.entity.OrderItem;
+import com.bookstore.bookstore_app.entity.OutboxEvent;
+import com.bookstore.bookstore_app.entity.Vendor;
+import com.bookstore.bookstore_app.repository.OrderRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Post-commit work for outbox events, run by {@link OutboxService} on its worker pool inside the
+ * transaction that marks the event delivered. Anything written here commits together with that
+ * mark, so a retried event never applies its database changes twice.
+ */
+@Component
+public class OrderEventHandler {
+
+    private static final Logger logger = LogManager.getLogger(OrderEventHandler.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private VendorRollupService vendorRollupService;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    public void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case ORDER_PLACED -> orderPlaced(event.getAggregateId());
+            default -> logger.warn("No handler for outbox event type: {}", event.getEventType());
+        }
+    }
+
+    private void orderPlaced(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null) {
+            logger.warn("Order placed event for missing order ID: {} - skipping", orderId);
+            return;
+        }
+        vendorRollupService.recordOrder(order);
+        dashboardMetrics.orderPlaced(order.getTotalAmount());
+        notifyVendors(order);
+    }
+
+    private void notifyVendors(Order order) {
+        Map<Long, Integer> unitsByVendor = new TreeMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Vendor vendor = item.getVendor() != null ? item.getVendor() : item.getBook().getVendor();
+            if (vendor != null) {
+                unitsByVendor.merge(vendor.getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        unitsByVendor.forEach((vendorId, units) ->
+                logger.info("Vendor notified of new order - Vendor ID: {}, Order: {}, Units: {}",
+                        vendorId, order.getOrderNumber(), units));
+    }
+}
@@ -1,5 +1,6 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.dto.CartSnapshot;
 import com.bookstore.bookstore_app.entity.*;
 import com.bookstore.bookstore_app.repository.*;
 import org.apache.logging.log4j.LogManager;
@@ -8,7 +9,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,6 +32,12 @@ public class OrderService {
     @Autowired
     private AddressRepository addressRepository;
 
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OutboxService outboxService;
+
     @Transactional
     public Order createOrder(Long userId, Long addressId) {
         logger.info("Creating order for user ID: {} with address ID: {}", userId, addressId);
@@ -46,13 +55,21 @@ public class OrderService {
                         return new RuntimeException("Address not found");
                     });
 
-            List<CartItem> cartItems = cartService.getCartItems(userId);
-            if (cartItems.isEmpty()) {
+            CartSnapshot cart = cartService.getCartSnapshot(userId);
+            List<CartItem> cartItems = cart.getItems();
+            if (cart.isEmpty()) {
                 logger.warn("Order creation failed - Cart is empty for user ID: {}", userId);
                 throw new RuntimeException("Cart is empty");
             }
 
-            BigDecimal totalAmount = cartService.getCartTotal(userId);
+            // Take the stock first; a short line aborts the whole checkout
+            Map<Long, Integer> quantities = new HashMap<>();
+            for (CartItem cartItem : cartItems) {
+                quantities.merge(cartItem.getBook().getId(), cartItem.getQuantity(), Integer::sum);
+            }
+            stockReservationService.reserve(quantities);
+
+            BigDecimal totalAmount = cart.getTotal();
             String orderNumber = "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
             logger.debug("Order details - Number: {}, Total: {}, Items: {}", orderNumber, totalAmount, cartItems.size());
@@ -76,6 +93,8 @@ public class OrderService {
             cartService.clearCart(userId);
 
             Order savedOrder = orderRepository.save(order);
+            // Rollups, dashboard counters and vendor notices run after commit from the outbox
+            outboxService.publish(OutboxEvent.EventType.ORDER_PLACED, savedOrder.getId());
             logger.info("Order created successfully - Order ID: {}, Number: {}, Total: {}", 
                        savedOrder.getId(), savedOrder.getOrderNumber(), savedOrder.getTotalAmount());
             
@@ -90,7 +109,7 @@ public class OrderService {
     public List<Order> getUserOrders(Long userId) {
         logger.debug("Fetching orders for user ID: {}", userId);
         try {
-            List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+            List<Order> orders = orderRepository.findWithItemsByUserId(userId);
             logger.info("Found {} orders for user ID: {}", orders.size(), userId);
             return orders;
         } catch (Exception e) {
@@ -115,11 +134,13 @@ public class OrderService {
         }
     }
 
+    @Transactional
     public Order updateOrderStatus(Long orderId, Order.OrderStatus status) {
         logger.info("Updating order status - Order ID: {}, New Status: {}", orderId, status);
         try {
             Order order = getOrderById(orderId);
             Order.OrderStatus oldStatus = order.getStatus();
+            stockReservationService.onStatusChange(order, oldStatus, status);
             order.setStatus(status);
             Order savedOrder = orderRepository.save(order);
             logger.info("Order status updated successfully - Order ID: {}, Old Status: {}, New Status: {}", 
@@ -0,0 +1,211 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.OutboxEvent;
+import com.bookstore.bookstore_app.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transactional outbox. {@link #publish} stores an event in the caller's transaction and, once
+ * that commits, hands it to a bounded worker pool that runs {@link OrderEventHandler}. An event
+ * is only marked delivered in the same transaction as its handler's writes, so delivery is
+ * at-least-once: failures are retried with exponential backoff, and events left behind by a
+ * restart or a full queue are picked up by {@link #poll()}. The poller never claims more events
+ * than the queue has room for, so a slow consumer leaves the backlog in the table instead of
+ * in memory.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LogManager.getLogger(OutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // Event IDs queued or running on this instance, so the poller and the commit hook never double-submit
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor workers;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OrderEventHandler orderEventHandler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final int maxAttempts;
+    private final long retryDelayMs;
+    private final long maxRetryDelayMs;
+    private final long retentionMs;
+
+    public OutboxService(@Value("${outbox.workers:2}") int workerCount,
+                         @Value("${outbox.queue-capacity:256}") int queueCapacity,
+                         @Value("${outbox.max-attempts:10}") int maxAttempts,
+                         @Value("${outbox.retry-delay-ms:1000}") long retryDelayMs,
+                         @Value("${outbox.max-retry-delay-ms:300000}") long maxRetryDelayMs,
+                         @Value("${outbox.retention-ms:86400000}") long retentionMs) {
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+        this.maxRetryDelayMs = maxRetryDelayMs;
+        this.retentionMs = retentionMs;
+        // Threads are started on first submit
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "outbox-" + threadNumber.incrementAndGet()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent publish(OutboxEvent.EventType eventType, Long aggregateId) {
+        OutboxEvent event = outboxEventRepository.save(new OutboxEvent(eventType, aggregateId));
+        Long eventId = event.getId();
+        logger.debug("Outbox event stored - ID: {}, Type: {}, Aggregate ID: {}", eventId, eventType, aggregateId);
+        afterCommit(() -> submit(eventId));
+        return event;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            logger.debug("Outbox workers saturated - leaving due events in the table");
+            return;
+        }
+        try {
+            List<Long> due = outboxEventRepository.findDueIds(OutboxEvent.Status.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, capacity));
+            if (due.size() == capacity) {
+                logger.warn("Outbox consumers falling behind - {} events pending",
+                        outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING));
+            }
+            due.forEach(this::submit);
+        } catch (Exception e) {
+            logger.error("Failed to poll outbox - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purgeProcessed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(retentionMs));
+        try {
+            Integer purged = new TransactionTemplate(transactionManager).execute(status ->
+                    outboxEventRepository.deleteByStatusAndProcessedAtBefore(OutboxEvent.Status.PROCESSED, cutoff));
+            if (purged != null && purged > 0) {
+                logger.info("Purged {} delivered outbox events", purged);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to purge outbox - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Anything not finished in time stays pending and is delivered after restart
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    void submit(Long eventId) {
+        if (!inFlight.add(eventId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    deliver(eventId);
+                } finally {
+                    inFlight.remove(eventId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(eventId);
+            logger.debug("Outbox queue full - event ID: {} left for the poller", eventId);
+        }
+    }
+
+    void deliver(Long eventId) {
+        try {
+            Boolean delivered = new TransactionTemplate(transactionManager).execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (outboxEventRepository.markProcessed(eventId, OutboxEvent.Status.PENDING,
+                        OutboxEvent.Status.PROCESSED, now) == 0) {
+                    return false;
+                }
+                OutboxEvent event = outboxEventRepository.findById(eventId)
+                        .orElseThrow(() -> new IllegalStateException("Outbox event vanished: " + eventId));
+                orderEventHandler.handle(event);
+                return true;
+            });
+            if (Boolean.TRUE.equals(delivered)) {
+                logger.debug("Outbox event delivered - ID: {}", eventId);
+            }
+        } catch (Exception e) {
+            recordFailure(eventId, e);
+        }
+    }
+
+    private void recordFailure(Long eventId, Exception failure) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    outboxEventRepository.findById(eventId).ifPresent(event -> {
+                        int attempts = event.getAttempts() + 1;
+                        event.setAttempts(attempts);
+                        event.setLastError(truncate(String.valueOf(failure.getMessage())));
+                        if (attempts >= maxAttempts) {
+                            event.setStatus(OutboxEvent.Status.FAILED);
+                            logger.error("Outbox event gave up after {} attempts - ID: {}, Type: {} - Error: {}",
+                                    attempts, eventId, event.getEventType(), failure.getMessage(), failure);
+                        } else {
+                            long delayMs = Math.min(retryDelayMs << Math.min(attempts - 1, 20), maxRetryDelayMs);
+                            event.setNextAttemptAt(LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(delayMs)));
+                            logger.warn("Outbox event failed, retrying in {} ms - ID: {}, Attempt: {} - Error: {}",
+                                    delayMs, eventId, attempts, failure.getMessage());
+                        }
+                        outboxEventRepository.save(event);
+                    }));
+        } catch (Exception e) {
+            // Still pending, so the poller retries it anyway
+            logger.error("Failed to record outbox failure - ID: {} - Error: {}", eventId, e.getMessage(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt checks for logins on a small bounded pool so a burst of login attempts can only
+ * use that many cores. When the pool's queue is full the attempt is shed with a 429 at once
+ * instead of waiting behind hashes that would outlast the caller anyway.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger logger = LogManager.getLogger(PasswordHasher.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor workers;
+
+    // A worker count of 0 means half the available processors
+    public PasswordHasher(@Value("${auth.login.workers:0}") int workerCount,
+                          @Value("${auth.login.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.login.timeout-ms:5000}") long timeoutMs) {
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        int threads = workerCount > 0 ? workerCount
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Threads are started on the first login
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet()));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return call(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * A fresh hash when the stored one was made at a lower cost than the current setting, or
+     * null. Only call after {@link #matches} succeeded; under load the upgrade is skipped and
+     * tried again on a later login.
+     */
+    public String upgradedHash(String rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return null;
+        }
+        try {
+            return call(() -> passwordEncoder.encode(rawPassword));
+        } catch (TooManyRequestsException e) {
+            logger.debug("Skipping password re-hash under load");
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = workers.submit(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password check shed - {} already queued", queueCapacity);
+            throw new TooManyRequestsException("Login service is busy, try again shortly", 1);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Password check timed out after {} ms", timeoutMs);
+            throw new TooManyRequestsException("Login service is busy, try again shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new RuntimeException("Interrupted waiting for password check");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Password check failed", e.getCause());
+        }
+    }
+}
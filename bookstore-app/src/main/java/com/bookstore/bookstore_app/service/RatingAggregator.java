@@ -0,0 +1,231 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects star ratings per book in a few striped cells, each packing sum and count into one
+ * {@link AtomicLong} so a flush always drains matching pairs, and flushes them on a fixed delay as one
+ * transactional JDBC batch of relative updates. Threads rating the same book mostly land on different
+ * cells, rating a book never loads or saves the entity, and concurrent ratings cannot overwrite each
+ * other. The stored average is recomputed from rating_sum / total_ratings in the same statement;
+ * ratings show up once the next flush commits. Books with nothing left to flush are dropped from the
+ * map, so it only holds recently rated books.
+ */
+@Component
+public class RatingAggregator {
+
+    private static final Logger logger = LogManager.getLogger(RatingAggregator.class);
+
+    // rating_avg is assigned first from the old sum and count, which MySQL and H2 evaluate the same way;
+    // NULLIF keeps the old average rather than dividing by zero should the count ever come out empty
+    static final String FLUSH_SQL =
+            "UPDATE books SET rating_avg = COALESCE(ROUND(CAST(rating_sum + ? AS DECIMAL(19, 4)) / " +
+            "NULLIF(total_ratings + ?, 0), 2), rating_avg), " +
+            "rating_sum = rating_sum + ?, total_ratings = total_ratings + ? WHERE id = ?";
+
+    // Books rated before rating_sum existed only have the average; recover the sum once at startup
+    static final String BACKFILL_SQL =
+            "UPDATE books SET rating_sum = ROUND(rating_avg * total_ratings, 0) WHERE rating_sum = 0 AND total_ratings > 0";
+
+    static final int MIN_RATING = 1;
+    static final int MAX_RATING = 5;
+
+    // Sum in the high 32 bits, count in the low 32: room for hundreds of millions of ratings per book between flushes
+    private static final int SUM_SHIFT = 32;
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    // Marks the cells of a book being dropped from the map; never a real packed value (the sum would need the sign bit)
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    // Power of two up to 8, so a thread's cell is picked with a mask
+    static final int CELLS = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), 8) * 2 - 1);
+
+    private final Map<Long, AtomicLong[]> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookDetailLoader bookDetailLoader;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public void record(Long bookId, int rating) {
+        if (rating < MIN_RATING || rating > MAX_RATING) {
+            throw new BusinessException("Rating must be between 1 and 5 stars");
+        }
+        // Memory only; an ID nobody has seen yet is accepted and dropped by the flush if it matches no row
+        if (bookDetailLoader.isKnownMissing(bookId)) {
+            throw new BusinessException("Book not found with id: " + bookId);
+        }
+        add(bookId, pack(rating, 1));
+    }
+
+    @Scheduled(fixedDelayString = "${ratings.flush-interval-ms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Long> bookIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, AtomicLong[]> entry : pending.entrySet()) {
+            // Each swap takes a cell's sum and count together; a rating added after it lands in the next flush
+            long packed = 0;
+            for (AtomicLong cell : entry.getValue()) {
+                packed += cell.getAndSet(0);
+            }
+            long count = packed & COUNT_MASK;
+            long sum = packed >>> SUM_SHIFT;
+            if (count == 0) {
+                retire(entry.getKey(), entry.getValue());
+                continue;
+            }
+            bookIds.add(entry.getKey());
+            batch.add(new Object[]{sum, count, sum, count, entry.getKey()});
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction, so a failed batch leaves no rows applied and the retry cannot double count
+            int[] updated = new TransactionTemplate(transactionManager)
+                    .execute(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    logger.warn("Dropped ratings for missing book ID: {}", bookIds.get(i));
+                    pending.remove(bookIds.get(i));
+                    bookDetailLoader.bookMissing(bookIds.get(i));
+                }
+            }
+            logger.debug("Flushed ratings for {} books", batch.size());
+        } catch (Exception e) {
+            // Put the drained deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                add((Long) row[4], pack((Long) row[0], (Long) row[1]));
+            }
+            logger.error("Failed to flush ratings for {} books - Error: {}", batch.size(), e.getMessage(), e);
+            return;
+        }
+
+        refreshSearchIndex(bookIds);
+        evictBookDetails(bookIds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRatingSums() {
+        try {
+            int updated = jdbcTemplate.update(BACKFILL_SQL);
+            if (updated > 0) {
+                logger.info("Backfilled rating sums for {} books", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to backfill rating sums - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    // Ratings not yet written to the database, by book ID; used by tests and diagnostics
+    long pendingCount(Long bookId) {
+        AtomicLong[] cells = pending.get(bookId);
+        long count = 0;
+        if (cells != null) {
+            for (AtomicLong cell : cells) {
+                long packed = cell.get();
+                count += packed != RETIRED ? packed & COUNT_MASK : 0;
+            }
+        }
+        return count;
+    }
+
+    // Books currently held in the map, drained or not
+    int pendingBooks() {
+        return pending.size();
+    }
+
+    private static long pack(long sum, long count) {
+        return (sum << SUM_SHIFT) + count;
+    }
+
+    // Adds to this thread's cell; a cell being retired sends the delta to the book's next entry instead
+    private void add(Long bookId, long delta) {
+        int h = Thread.currentThread().hashCode();
+        int index = (h ^ (h >>> 16)) & (CELLS - 1);
+        while (true) {
+            AtomicLong cell = pending.computeIfAbsent(bookId, id -> newCells())[index];
+            long current = cell.get();
+            if (current == RETIRED) {
+                // flush() is between retiring these cells and removing the entry
+                Thread.onSpinWait();
+            } else if (cell.compareAndSet(current, current + delta)) {
+                return;
+            }
+        }
+    }
+
+    private static AtomicLong[] newCells() {
+        AtomicLong[] cells = new AtomicLong[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = new AtomicLong();
+        }
+        return cells;
+    }
+
+    // Drops a drained book. Every cell must go from 0 to RETIRED first; if a rating got in, the cells
+    // are reopened and the book stays for the next flush, so no rating lands in a removed entry.
+    private void retire(Long bookId, AtomicLong[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if (!cells[i].compareAndSet(0, RETIRED)) {
+                for (int j = 0; j < i; j++) {
+                    cells[j].set(0);
+                }
+                return;
+            }
+        }
+        pending.remove(bookId, cells);
+    }
+
+    private void refreshSearchIndex(List<Long> bookIds) {
+        try {
+            String placeholders = String.join(",", Collections.nCopies(bookIds.size(), "?"));
+            jdbcTemplate.query("SELECT id, rating_avg FROM books WHERE id IN (" + placeholders + ")",
+                    rs -> { bookSearchIndex.updateRating(rs.getLong(1), rs.getBigDecimal(2)); },
+                    bookIds.toArray());
+        } catch (Exception e) {
+            logger.warn("Failed to refresh search index ratings - Error: {}", e.getMessage());
+        }
+    }
+
+    // The flush bypasses Hibernate, so cached book details still carry the old average
+    private void evictBookDetails(List<Long> bookIds) {
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books != null) {
+            bookIds.forEach(books::evict);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of every registered email, so registration can skip the existence query when
+ * an email is definitely new. Loaded at startup from the on-disk snapshot plus the users
+ * created since it was written (or from a full scan of users when there is none), then kept
+ * current by {@link #add}. Until loading finishes, and after any failure, every email is
+ * reported as possibly registered and callers fall back to the database.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger logger = LogManager.getLogger(RegisteredEmailFilter.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x424c4d31; // "BLM1"
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${auth.email-filter.initial-capacity:100000}")
+    private int initialCapacity = 100000;
+
+    @Value("${auth.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    // Empty disables the snapshot; every start then scans the users table
+    @Value("${auth.email-filter.snapshot-path:}")
+    private String snapshotPath = "";
+
+    private volatile ScalableBloomFilter filter;
+    private volatile boolean ready;
+    private volatile boolean dirty;
+    // Highest user ID whose email is known to be in the filter
+    private final AtomicLong coveredUpToId = new AtomicLong();
+
+    /**
+     * False only when the email has certainly never been registered.
+     */
+    public boolean mightBeRegistered(String email) {
+        ScalableBloomFilter current = filter;
+        return !ready || current == null || email == null || current.mightContain(normalize(email));
+    }
+
+    public void add(Long userId, String email) {
+        ScalableBloomFilter current = filter;
+        if (current == null || email == null) {
+            return;
+        }
+        current.add(normalize(email));
+        if (userId != null) {
+            coveredUpToId.accumulateAndGet(userId, Math::max);
+        }
+        dirty = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        try {
+            ScalableBloomFilter restored = readSnapshot(userRepository.findMaxId());
+            long afterId = restored != null ? coveredUpToId.get() : 0L;
+            // From here on new registrations are added as they happen; everything older is scanned
+            filter = restored != null ? restored : new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+            Long maxId = userRepository.findMaxId();
+            long upToId = maxId != null ? maxId : 0L;
+
+            long scanned = 0;
+            if (upToId > afterId) {
+                scanned = scan(afterId, upToId);
+                dirty = true;
+            }
+            coveredUpToId.accumulateAndGet(upToId, Math::max);
+            ready = true;
+            logger.info("Registered email filter ready - {} emails in {} slices ({} read from users, snapshot {}), {} ms",
+                    filter.count(), filter.sliceCount(), scanned, restored != null ? "used" : "not used",
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            ready = false;
+            logger.error("Failed to load registered email filter, registration will query the database - Error: {}",
+                    e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.email-filter.snapshot-interval-ms:300000}")
+    public void saveSnapshot() {
+        if (!ready || !dirty || snapshotPath.isBlank()) {
+            return;
+        }
+        dirty = false;
+        Path target = Paths.get(snapshotPath);
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "registered-emails", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                // Not exact under concurrent registrations: a lower ID added after a higher one, or
+                // mid-write, can be covered here yet missing from the bits. A restart then misses
+                // that email, and the unique-index fallback in UserService.saveNewUser still
+                // rejects the duplicate
+                long covered = coveredUpToId.get();
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(covered);
+                filter.writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Registered email filter snapshot written to {}", target);
+        } catch (IOException e) {
+            dirty = true;
+            logger.warn("Failed to write registered email filter snapshot to {} - Error: {}", target, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+
+    private ScalableBloomFilter readSnapshot(Long maxUserId) {
+        if (snapshotPath.isBlank() || !Files.isRegularFile(Paths.get(snapshotPath))) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(snapshotPath))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("not a registered email filter snapshot");
+            }
+            long covered = in.readLong();
+            // A snapshot ahead of the table belongs to another (or a restored) database
+            if (maxUserId == null || covered > maxUserId) {
+                logger.warn("Ignoring registered email filter snapshot covering user ID {} beyond table maximum {}",
+                        covered, maxUserId);
+                return null;
+            }
+            ScalableBloomFilter restored = ScalableBloomFilter.readFrom(in);
+            coveredUpToId.accumulateAndGet(covered, Math::max);
+            return restored;
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable registered email filter snapshot {} - Error: {}", snapshotPath, e.getMessage());
+            return null;
+        }
+    }
+
+    private long scan(long afterId, long upToId) {
+        ScalableBloomFilter target = filter;
+        Long count = new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            long added = 0;
+            try (Stream<String> emails = userRepository.streamEmailsBetween(afterId, upToId)) {
+                for (String email : (Iterable<String>) emails::iterator) {
+                    if (email != null) {
+                        target.add(normalize(email));
+                        added++;
+                    }
+                }
+            }
+            return added;
+        });
+        return count != null ? count : 0;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.ReviewSummary;
+import com.bookstore.bookstore_app.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for review listings: the (createdAt, id) of the last review returned.
+ */
+public final class ReviewCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final Long lastId;
+
+    private ReviewCursor(LocalDateTime createdAt, Long lastId) {
+        this.createdAt = createdAt;
+        this.lastId = lastId;
+    }
+
+    public static ReviewCursor after(ReviewSummary last) {
+        return new ReviewCursor(last.getCreatedAt(), last.getId());
+    }
+
+    public static ReviewCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new ReviewCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public Long getLastId() { return lastId; }
+}
@@ -0,0 +1,121 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.CursorPage;
+import com.bookstore.bookstore_app.dto.ReviewSummary;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import com.bookstore.bookstore_app.repository.ReviewRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Review listings and the moderation queue. Listings are keyset pages of a book's approved reviews
+ * served from idx_reviews_book_approved_created. Moderators claim batches of pending reviews for a
+ * lease so concurrent admins see disjoint work, then approve or reject a batch in one UPDATE.
+ */
+@Service
+public class ReviewService {
+
+    private static final Logger logger = LogManager.getLogger(ReviewService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Value("${reviews.moderation.claim-minutes:15}")
+    private long claimMinutes = 15;
+
+    @Value("${reviews.moderation.max-batch:100}")
+    private int maxBatch = 100;
+
+    public CursorPage<ReviewSummary> getApprovedReviews(Long bookId, String cursor, int size) {
+        logger.debug("Fetching approved reviews - Book ID: {}, Size: {}, Has cursor: {}", bookId, size, cursor != null);
+        try {
+            // Fetch one extra row to learn whether another page exists
+            Pageable limit = PageRequest.of(0, size + 1);
+            List<ReviewSummary> reviews;
+            if (cursor == null || cursor.isBlank()) {
+                reviews = reviewRepository.findApprovedByBookId(bookId, limit);
+            } else {
+                ReviewCursor after = ReviewCursor.decode(cursor);
+                reviews = reviewRepository.findNextApprovedByBookId(bookId, after.getCreatedAt(), after.getLastId(), limit);
+            }
+
+            boolean hasNext = reviews.size() > size;
+            List<ReviewSummary> page = hasNext ? reviews.subList(0, size) : reviews;
+            String nextCursor = hasNext ? ReviewCursor.after(page.get(page.size() - 1)).encode() : null;
+
+            logger.info("Retrieved {} approved reviews for book ID: {} (has next: {})", page.size(), bookId, hasNext);
+            return new CursorPage<>(page, size, hasNext, nextCursor, null);
+        } catch (Exception e) {
+            logger.error("Failed to fetch reviews for book ID: {} - Error: {}", bookId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Claims up to batchSize pending reviews for this admin and returns the ones actually won.
+     * Reviews claimed by someone else are skipped until their claim lapses.
+     */
+    @Transactional
+    public List<ReviewSummary> claimPendingReviews(Long adminId, int batchSize) {
+        logger.info("Claiming pending reviews - Admin ID: {}, Batch size: {}", adminId, batchSize);
+        try {
+            int size = Math.min(Math.max(batchSize, 1), maxBatch);
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            List<Long> candidates = reviewRepository.findClaimableIds(now, PageRequest.of(0, size));
+            if (candidates.isEmpty()) {
+                logger.info("Moderation queue is empty");
+                return List.of();
+            }
+
+            int claimed = reviewRepository.claim(candidates, adminId, now, now.plusMinutes(claimMinutes));
+            List<ReviewSummary> reviews = claimed > 0 ? reviewRepository.findClaimedBy(candidates, adminId, now) : List.of();
+            logger.info("Admin ID: {} claimed {} of {} candidate reviews", adminId, reviews.size(), candidates.size());
+            return reviews;
+        } catch (Exception e) {
+            logger.error("Failed to claim pending reviews - Admin ID: {} - Error: {}", adminId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Approves or rejects a batch of reviews claimed by this admin in a single UPDATE. Ids that are
+     * not pending or are held by another admin are left alone; the number of reviews changed is returned.
+     */
+    @Transactional
+    public int moderateReviews(Long adminId, List<Long> reviewIds, boolean approved) {
+        logger.info("Moderating {} reviews - Admin ID: {}, Approved: {}", reviewIds.size(), adminId, approved);
+        try {
+            Set<Long> ids = new LinkedHashSet<>(reviewIds);
+            if (ids.size() > maxBatch) {
+                throw new BusinessException("At most " + maxBatch + " reviews can be moderated at once");
+            }
+
+            int moderated = reviewRepository.moderateClaimed(ids, adminId, approved, !approved);
+            dashboardMetrics.reviewsModerated(moderated, approved);
+            if (moderated < ids.size()) {
+                logger.warn("Skipped {} reviews that were not pending or not claimed by admin ID: {}",
+                        ids.size() - moderated, adminId);
+            }
+            logger.info("{} {} reviews - Admin ID: {}", approved ? "Approved" : "Rejected", moderated, adminId);
+            return moderated;
+        } catch (Exception e) {
+            logger.error("Failed to moderate reviews - Admin ID: {} - Error: {}", adminId, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.bookstore.bookstore_app.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter that grows as keys are added: once the newest slice holds its capacity, a new
+ * slice twice as large with half the false-positive rate is started, so the overall rate stays
+ * under the configured one however many keys arrive. Lookups are lock-free; adds are serialized.
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    // Refuse snapshots claiming more than this much bit storage
+    private static final long MAX_WORDS = 1L << 27;
+
+    private final double falsePositiveRate;
+    private volatile Slice[] slices;
+
+    ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        // The slice rates form a geometric series summing to falsePositiveRate
+        this.slices = new Slice[]{new Slice(Math.max(1, initialCapacity), falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    private ScalableBloomFilter(double falsePositiveRate, Slice[] slices) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.slices = slices;
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized void add(String key) {
+        long hash = hash(key);
+        for (Slice slice : slices) {
+            if (slice.mightContain(hash)) {
+                return;
+            }
+        }
+        Slice newest = slices[slices.length - 1];
+        if (newest.count >= newest.capacity) {
+            newest = new Slice(newest.capacity * GROWTH, newest.falsePositiveRate * TIGHTENING);
+            Slice[] grown = Arrays.copyOf(slices, slices.length + 1);
+            grown[grown.length - 1] = newest;
+            slices = grown;
+        }
+        newest.add(hash);
+    }
+
+    synchronized long count() {
+        long count = 0;
+        for (Slice slice : slices) {
+            count += slice.count;
+        }
+        return count;
+    }
+
+    synchronized int sliceCount() {
+        return slices.length;
+    }
+
+    synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeDouble(falsePositiveRate);
+        out.writeInt(slices.length);
+        for (Slice slice : slices) {
+            out.writeLong(slice.capacity);
+            out.writeDouble(slice.falsePositiveRate);
+            out.writeLong(slice.count);
+            for (int i = 0; i < slice.bits.length(); i++) {
+                out.writeLong(slice.bits.get(i));
+            }
+        }
+    }
+
+    static ScalableBloomFilter readFrom(DataInputStream in) throws IOException {
+        double falsePositiveRate = in.readDouble();
+        int sliceCount = in.readInt();
+        if (sliceCount < 1 || sliceCount > 64) {
+            throw new IOException("Corrupt filter: " + sliceCount + " slices");
+        }
+        Slice[] slices = new Slice[sliceCount];
+        for (int s = 0; s < sliceCount; s++) {
+            long capacity = in.readLong();
+            double sliceRate = in.readDouble();
+            if (capacity < 1 || !(sliceRate > 0 && sliceRate < 1)) {
+                throw new IOException("Corrupt filter slice " + s);
+            }
+            Slice slice = new Slice(capacity, sliceRate);
+            slice.count = in.readLong();
+            for (int i = 0; i < slice.bits.length(); i++) {
+                slice.bits.set(i, in.readLong());
+            }
+            slices[s] = slice;
+        }
+        return new ScalableBloomFilter(falsePositiveRate, slices);
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes, finished with the murmur3 mixer; stable across JVMs
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Slice {
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long numBits;
+        private final int numHashes;
+        private final AtomicLongArray bits;
+        private long count;
+
+        private Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            long words = Math.max(1, (optimalBits + 63) / 64);
+            if (words > MAX_WORDS) {
+                throw new IllegalArgumentException("Bloom filter slice too large: " + capacity + " keys");
+            }
+            this.numBits = words * 64;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray((int) words);
+        }
+
+        // Kirsch-Mitzenmacher: k indexes from the two halves of one 64-bit hash
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void add(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= numHashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+                int word = (int) (bit >>> 6);
+                // Only called under the filter's lock; the atomic array publishes the bits to readers
+                bits.set(word, bits.get(word) | (1L << bit));
+            }
+            count++;
+        }
+    }
+}
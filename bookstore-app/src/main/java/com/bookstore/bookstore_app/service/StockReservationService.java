@@ -0,0 +1,125 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.dto.StockLineResult;
+import com.bookstore.bookstore_app.entity.Order;
+import com.bookstore.bookstore_app.entity.OrderItem;
+import com.bookstore.bookstore_app.exception.InsufficientStockException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves stock with conditional decrements instead of read-then-compare checks.
+ * Each line is {@code UPDATE ... WHERE id = ? AND stock_quantity >= ?}, so a row can never go
+ * negative and only the touched book rows are locked. All lines go out as one JDBC batch in
+ * ascending book id order, which keeps concurrent checkouts from deadlocking on each other.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger logger = LogManager.getLogger(StockReservationService.class);
+
+    static final String RESERVE_SQL =
+            "UPDATE books SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    static final String RELEASE_SQL =
+            "UPDATE books SET stock_quantity = stock_quantity + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Decrements stock for every book in the map (book id to quantity). Runs in the caller's
+     * transaction; if any line is short the exception rolls back every decrement.
+     */
+    @Transactional
+    public List<StockLineResult> reserve(Map<Long, Integer> quantitiesByBookId) {
+        TreeMap<Long, Integer> ordered = new TreeMap<>(quantitiesByBookId);
+        logger.debug("Reserving stock for {} books", ordered.size());
+
+        List<Object[]> batch = new ArrayList<>(ordered.size());
+        ordered.forEach((bookId, quantity) -> batch.add(new Object[]{quantity, bookId, quantity}));
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, batch);
+
+        List<StockLineResult> results = new ArrayList<>(ordered.size());
+        boolean allReserved = true;
+        int i = 0;
+        for (Map.Entry<Long, Integer> line : ordered.entrySet()) {
+            boolean reserved = updated[i++] == 1;
+            allReserved &= reserved;
+            results.add(new StockLineResult(line.getKey(), line.getValue(), reserved));
+        }
+
+        if (!allReserved) {
+            InsufficientStockException ex = new InsufficientStockException(results);
+            logger.warn("Stock reservation failed - {}", ex.getMessage());
+            throw ex;
+        }
+
+        evictBookDetails(ordered.keySet());
+        logger.info("Reserved stock for {} books", results.size());
+        return results;
+    }
+
+    /**
+     * Cancelling an order gives its stock back; reopening a cancelled order has to reserve it again.
+     */
+    @Transactional
+    public void onStatusChange(Order order, Order.OrderStatus oldStatus, Order.OrderStatus newStatus) {
+        boolean wasCancelled = oldStatus == Order.OrderStatus.CANCELLED;
+        boolean isCancelled = newStatus == Order.OrderStatus.CANCELLED;
+        if (!wasCancelled && isCancelled) {
+            release(order);
+        } else if (wasCancelled && !isCancelled) {
+            reserve(quantitiesOf(order));
+        }
+    }
+
+    /**
+     * Returns the stock held by an order's items.
+     */
+    @Transactional
+    public void release(Order order) {
+        Map<Long, Integer> ordered = quantitiesOf(order);
+        if (ordered.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(ordered.size());
+        ordered.forEach((bookId, quantity) -> batch.add(new Object[]{quantity, bookId}));
+        jdbcTemplate.batchUpdate(RELEASE_SQL, batch);
+        evictBookDetails(ordered.keySet());
+        logger.info("Released stock for {} books from order ID: {}", ordered.size(), order.getId());
+    }
+
+    // Stock changes bypass Hibernate; the transaction-aware region drops the entries after commit
+    private void evictBookDetails(Iterable<Long> bookIds) {
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books != null) {
+            bookIds.forEach(books::evict);
+        }
+    }
+
+    private static Map<Long, Integer> quantitiesOf(Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        if (order.getOrderItems() != null) {
+            for (OrderItem item : order.getOrderItems()) {
+                quantities.merge(item.getBook().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.dto.UserIdentity;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link UserIdentity} snapshots keyed by normalized email. Every write path
+ * that changes a user's password, role, verification or profile must call {@link #evict(User)};
+ * the region's TTL bounds anything missed (cache.users.spec). Unknown emails are not cached, so a
+ * new registration is visible at once. Lookups by user ID all load the entity to change or attach
+ * it, so they are not cached here.
+ */
+@Component
+public class UserIdentityCache {
+
+    private static final Logger logger = LogManager.getLogger(UserIdentityCache.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public Optional<UserIdentity> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String key = normalize(email);
+        Cache byEmail = cacheManager.getCache(CacheConfig.USER_EMAILS);
+        UserIdentity cached = byEmail != null ? byEmail.get(key, UserIdentity.class) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        logger.debug("User identity cache miss for email: {}", email);
+        return userRepository.findByEmail(email).map(this::put);
+    }
+
+    public UserIdentity put(User user) {
+        UserIdentity identity = UserIdentity.of(user);
+        Cache byEmail = cacheManager.getCache(CacheConfig.USER_EMAILS);
+        if (byEmail != null && identity.getEmail() != null) {
+            byEmail.put(normalize(identity.getEmail()), identity);
+        }
+        return identity;
+    }
+
+    public void evict(User user) {
+        Cache byEmail = cacheManager.getCache(CacheConfig.USER_EMAILS);
+        if (byEmail != null && user.getEmail() != null) {
+            byEmail.evict(normalize(user.getEmail()));
+        }
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
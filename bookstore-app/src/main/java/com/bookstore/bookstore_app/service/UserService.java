@@ -3,6 +3,7 @@ package com.bookstore.bookstore_app.service;
 import com.bookstore.bookstore_app.dto.LoginRequest;
 import com.bookstore.bookstore_app.dto.LoginResponse;
 import com.bookstore.bookstore_app.dto.RegisterRequest;
+import com.bookstore.bookstore_app.dto.UserIdentity;
 import com.bookstore.bookstore_app.entity.User;
 import com.bookstore.bookstore_app.entity.Vendor;
 import com.bookstore.bookstore_app.repository.UserRepository;
@@ -12,6 +13,7 @@ import com.bookstore.bookstore_app.exception.BusinessException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -31,14 +33,31 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
     public String register(RegisterRequest request) {
         logger.info("Attempting to register user with email: {}", request.getEmail());
 
         try {
-            if (userRepository.existsByEmail(request.getEmail())) {
+            // A definite miss in the filter skips the lookup; the unique index still has the final say
+            if (registeredEmailFilter.mightBeRegistered(request.getEmail())
+                    && userIdentityCache.findByEmail(request.getEmail()).isPresent()) {
                 logger.warn("Registration failed - Email already exists: {}", request.getEmail());
                 throw new BusinessException("Email already exists");
             }
@@ -50,7 +69,8 @@ public class UserService {
             user.setLastName(request.getLastName());
             user.setPhone(request.getPhone());
 
-            User savedUser = userRepository.save(user);
+            User savedUser = saveNewUser(user);
+            dashboardMetrics.userRegistered();
             logger.info("User registered successfully with ID: {} and email: {}", savedUser.getId(), savedUser.getEmail());
 
             return "User registered successfully";
@@ -67,17 +87,7 @@ public class UserService {
         logger.info("Login attempt for email: {}", request.getEmail());
 
         try {
-            Optional<User> userOpt = userRepository.findByEmail(request.getEmail());
-            if (userOpt.isEmpty()) {
-                logger.warn("Login failed - User not found: {}", request.getEmail());
-                throw new BusinessException("Invalid credentials");
-            }
-
-            User user = userOpt.get();
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                logger.warn("Login failed - Invalid password for user: {}", request.getEmail());
-                throw new BusinessException("Invalid credentials");
-            }
+            User user = authenticate(request).toUser();
 
             String token = jwtUtil.generateToken(user.getEmail());
             logger.info("Login successful for user: {} with ID: {}", user.getEmail(), user.getId());
@@ -96,7 +106,8 @@ public class UserService {
         logger.debug("Fetching user by email: {}", email);
 
         try {
-            User user = userRepository.findByEmail(email)
+            User user = userIdentityCache.findByEmail(email)
+                    .map(UserIdentity::toUser)
                     .orElseThrow(() -> {
                         logger.warn("User not found with email: {}", email);
                         return new BusinessException("User not found");
@@ -128,6 +139,7 @@ public class UserService {
             user.setPhone(updatedUser.getPhone());
 
             User savedUser = userRepository.save(user);
+            userIdentityCache.evict(savedUser);
             logger.info("User updated successfully with ID: {}", savedUser.getId());
 
             return savedUser;
@@ -153,6 +165,7 @@ public class UserService {
             String tempPassword = "temp123456";
             user.setPassword(passwordEncoder.encode(tempPassword));
             userRepository.save(user);
+            userIdentityCache.evict(user);
 
             logger.info("Password reset successful for user: {}", email);
             return "Password reset request processed. Contact admin for new password.";
@@ -177,6 +190,7 @@ public class UserService {
 
             user.setVerified(true);
             userRepository.save(user);
+            userIdentityCache.evict(user);
 
             logger.info("User verified successfully with ID: {}", userId);
             return "User verified successfully";
@@ -193,17 +207,7 @@ public class UserService {
         logger.info("Login attempt with role info for email: {}", request.getEmail());
 
         try {
-            Optional<User> userOpt = userRepository.findByEmail(request.getEmail());
-            if (userOpt.isEmpty()) {
-                logger.warn("Login failed - User not found: {}", request.getEmail());
-                throw new BusinessException("Invalid credentials");
-            }
-
-            User user = userOpt.get();
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                logger.warn("Login failed - Invalid password for user: {}", request.getEmail());
-                throw new BusinessException("Invalid credentials");
-            }
+            User user = authenticate(request).toUser();
 
             logger.info("Generating token for user: {} with role: {} and ID: {}",
                     user.getEmail(), user.getRole(), user.getId());
@@ -240,8 +244,9 @@ public class UserService {
         logger.info("Attempting to register user with email: {} and role: {}", request.getEmail(), role);
 
         try {
-            // Check if user already exists
-            if (userRepository.existsByEmail(request.getEmail())) {
+            // Check if user already exists. A definite miss in the filter skips the lookup; the unique index still has the final say
+            if (registeredEmailFilter.mightBeRegistered(request.getEmail())
+                    && userIdentityCache.findByEmail(request.getEmail()).isPresent()) {
                 logger.warn("Registration failed - Email already exists: {}", request.getEmail());
                 throw new BusinessException("Email already exists");
             }
@@ -254,7 +259,8 @@ public class UserService {
             user.setPhone(request.getPhone());
             user.setRole(role);
 
-            User savedUser = userRepository.save(user);
+            User savedUser = saveNewUser(user);
+            dashboardMetrics.userRegistered();
             logger.info("User registered successfully with ID: {}, email: {}, and role: {}",
                     savedUser.getId(), savedUser.getEmail(), savedUser.getRole());
 
@@ -267,4 +273,49 @@ public class UserService {
             throw new RuntimeException("Registration failed due to server error");
         }
     }
+
+    // Throttle, then check the password off the request thread; upgrades hashes made at an older cost
+    private UserIdentity authenticate(LoginRequest request) {
+        loginThrottle.acquire(request.getEmail());
+
+        Optional<UserIdentity> identityOpt = userIdentityCache.findByEmail(request.getEmail());
+        if (identityOpt.isEmpty()) {
+            logger.warn("Login failed - User not found: {}", request.getEmail());
+            throw new BusinessException("Invalid credentials");
+        }
+
+        UserIdentity identity = identityOpt.get();
+        if (!passwordHasher.matches(request.getPassword(), identity.getPasswordHash())) {
+            logger.warn("Login failed - Invalid password for user: {}", request.getEmail());
+            throw new BusinessException("Invalid credentials");
+        }
+
+        String upgradedHash = passwordHasher.upgradedHash(request.getPassword(), identity.getPasswordHash());
+        if (upgradedHash != null) {
+            userRepository.findById(identity.getId()).ifPresent(user -> {
+                user.setPassword(upgradedHash);
+                userIdentityCache.put(userRepository.save(user));
+                logger.info("Password re-hashed at current cost for user ID: {}", user.getId());
+            });
+        }
+        return identity;
+    }
+
+    private User saveNewUser(User user) {
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            // Only a registration that lost the race for this email is a duplicate; anything else
+            // (a NOT NULL or length violation) is a real failure and goes up as one
+            if (userIdentityCache.findByEmail(user.getEmail()).isEmpty()) {
+                throw ex;
+            }
+            logger.warn("Registration failed - Email already exists: {}", user.getEmail());
+            throw new BusinessException("Email already exists");
+        }
+        userIdentityCache.put(savedUser);
+        registeredEmailFilter.add(savedUser.getId(), savedUser.getEmail());
+        return savedUser;
+    }
 }
\ No newline at end of file
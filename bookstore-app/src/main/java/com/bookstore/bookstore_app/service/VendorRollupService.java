@@ -0,0 +1,194 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.Order;
+import com.bookstore.bookstore_app.entity.OrderItem;
+import com.bookstore.bookstore_app.entity.Vendor;
+import com.bookstore.bookstore_app.entity.VendorSalesRollup;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.OrderRepository;
+import com.bookstore.bookstore_app.repository.VendorSalesRollupRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintains one {@link VendorSalesRollup} row per vendor: revenue, order count, units sold
+ * and approved/pending book counts. Updates are relative UPDATEs issued inside the caller's
+ * transaction: book changes commit with the book, and sales commit with the delivery of the
+ * order's ORDER_PLACED outbox event (see {@link OrderEventHandler}).
+ * The row is created when the vendor registers; vendors that predate the rollup table are
+ * rebuilt from order history once at startup, or on first read if that comes sooner.
+ */
+@Service
+public class VendorRollupService {
+
+    private static final Logger logger = LogManager.getLogger(VendorRollupService.class);
+
+    private static final int REBUILD_LOCK_STRIPES = 64;
+
+    @Autowired
+    private VendorSalesRollupRepository rollupRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Rebuilds of one vendor run one at a time in this instance; ReentrantLock so virtual threads are not pinned
+    private final ReentrantLock[] rebuildLocks = new ReentrantLock[REBUILD_LOCK_STRIPES];
+
+    public VendorRollupService() {
+        for (int i = 0; i < REBUILD_LOCK_STRIPES; i++) {
+            rebuildLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public static Long vendorIdOf(Book book) {
+        Vendor vendor = book.getVendor();
+        return vendor != null ? vendor.getId() : null;
+    }
+
+    @Transactional
+    public void vendorRegistered(Long vendorId) {
+        logger.debug("Creating sales rollup for vendor ID: {}", vendorId);
+        rollupRepository.save(new VendorSalesRollup(vendorId));
+    }
+
+    @Transactional
+    public void recordOrder(Order order) {
+        // Sorted by vendor ID so concurrent checkouts lock rollup rows in the same order
+        Map<Long, BigDecimal> revenueByVendor = new TreeMap<>();
+        Map<Long, Long> unitsByVendor = new TreeMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Vendor vendor = item.getVendor() != null ? item.getVendor() : item.getBook().getVendor();
+            if (vendor == null) {
+                continue;
+            }
+            revenueByVendor.merge(vendor.getId(), item.getTotalPrice(), BigDecimal::add);
+            unitsByVendor.merge(vendor.getId(), (long) item.getQuantity(), Long::sum);
+        }
+
+        for (Map.Entry<Long, BigDecimal> entry : revenueByVendor.entrySet()) {
+            Long vendorId = entry.getKey();
+            int updated = rollupRepository.addSale(vendorId, entry.getValue(), unitsByVendor.get(vendorId));
+            if (updated == 0) {
+                logger.debug("No sales rollup for vendor ID: {} yet - it will be built on first read", vendorId);
+            }
+        }
+        logger.debug("Recorded order {} in sales rollups for {} vendors", order.getOrderNumber(), revenueByVendor.size());
+    }
+
+    @Transactional
+    public void bookAdded(Long vendorId, boolean approved) {
+        booksAdded(vendorId, 1, approved);
+    }
+
+    @Transactional
+    public void booksAdded(Long vendorId, long count, boolean approved) {
+        if (vendorId != null && count > 0) {
+            rollupRepository.addBooks(vendorId, approved ? count : 0, approved ? 0 : count);
+        }
+    }
+
+    @Transactional
+    public void bookRemoved(Long vendorId, boolean approved) {
+        if (vendorId != null) {
+            rollupRepository.addBooks(vendorId, approved ? -1 : 0, approved ? 0 : -1);
+        }
+    }
+
+    @Transactional
+    public void bookApprovalChanged(Long vendorId, boolean wasApproved, boolean approved) {
+        if (vendorId != null && wasApproved != approved) {
+            rollupRepository.addBooks(vendorId, approved ? 1 : -1, approved ? -1 : 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingRollups() {
+        List<Long> vendorIds = rollupRepository.findVendorIdsWithoutRollup();
+        if (vendorIds.isEmpty()) {
+            return;
+        }
+        logger.info("Backfilling sales rollups for {} vendors", vendorIds.size());
+        int failed = 0;
+        for (Long vendorId : vendorIds) {
+            try {
+                rebuild(vendorId);
+            } catch (Exception e) {
+                // Already logged by rebuild; the vendor's first dashboard read retries it
+                failed++;
+            }
+        }
+        logger.info("Sales rollup backfill finished - {} vendors, {} failed", vendorIds.size(), failed);
+    }
+
+    public VendorSalesRollup getRollup(Long vendorId) {
+        return rollupRepository.findById(vendorId).orElseGet(() -> rebuild(vendorId));
+    }
+
+    /**
+     * Recomputes a vendor's row from order history with the full joins the rollup otherwise avoids.
+     * Runs in its own transaction, serialized per vendor, with the row locked before history is read.
+     */
+    public VendorSalesRollup rebuild(Long vendorId) {
+        logger.info("Rebuilding sales rollup for vendor ID: {}", vendorId);
+        ReentrantLock lock = rebuildLocks[Math.floorMod(vendorId.hashCode(), REBUILD_LOCK_STRIPES)];
+        lock.lock();
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            VendorSalesRollup savedRollup = transaction.execute(status -> rebuildLocked(vendorId));
+            logger.info("Sales rollup rebuilt for vendor ID: {} - Orders: {}, Revenue: {}",
+                    vendorId, savedRollup.getOrderCount(), savedRollup.getTotalRevenue());
+            return savedRollup;
+        } catch (Exception e) {
+            logger.error("Failed to rebuild sales rollup for vendor ID: {} - Error: {}", vendorId, e.getMessage(), e);
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // With the row locked, addSale/addBooks wait for this transaction and then apply on top of the
+    // rebuilt values instead of being overwritten. Sales only reach the row when an order's ORDER_PLACED
+    // event is delivered, so history leaves out orders whose event is still pending: one delivered
+    // after the lock adds the order itself, one delivered before it is already marked processed.
+    // If the row is missing, the INSERT waits on the gap locks of deliveries whose addSale found no
+    // row, so their events are committed as processed before history is read.
+    private VendorSalesRollup rebuildLocked(Long vendorId) {
+        VendorSalesRollup rollup = rollupRepository.lockByVendorId(vendorId).orElse(null);
+        if (rollup == null) {
+            rollupRepository.insertEmpty(vendorId);
+            rollup = rollupRepository.lockByVendorId(vendorId)
+                    .orElseThrow(() -> new IllegalStateException("Sales rollup row missing after insert"));
+        }
+
+        rollup.setTotalRevenue(orderRepository.getVendorRevenue(vendorId));
+        rollup.setOrderCount(orderRepository.countOrdersByVendorId(vendorId));
+        rollup.setUnitsSold(orderRepository.getVendorUnitsSold(vendorId));
+        rollup.setApprovedBooks(bookRepository.countByVendorIdAndIsApprovedTrue(vendorId));
+        rollup.setPendingBooks(bookRepository.countByVendorIdAndIsApprovedFalse(vendorId));
+        rollup.setUpdatedAt(LocalDateTime.now());
+        return rollupRepository.save(rollup);
+    }
+}
@@ -1,11 +1,13 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.config.CacheConfig;
 import com.bookstore.bookstore_app.dto.VendorRegistrationRequest;
 import com.bookstore.bookstore_app.dto.BookCreateRequest;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.entity.Order;
 import com.bookstore.bookstore_app.entity.User;
 import com.bookstore.bookstore_app.entity.Vendor;
+import com.bookstore.bookstore_app.entity.VendorSalesRollup;
 import com.bookstore.bookstore_app.repository.BookRepository;
 import com.bookstore.bookstore_app.repository.OrderRepository;
 import com.bookstore.bookstore_app.repository.UserRepository;
@@ -14,14 +16,14 @@ import com.bookstore.bookstore_app.exception.BusinessException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class VendorService {
@@ -40,7 +42,23 @@ public class VendorService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private DashboardMetrics dashboardMetrics;
+
+    @Autowired
+    private VendorRollupService vendorRollupService;
+
+    @Autowired
+    private BookDetailLoader bookDetailLoader;
+
+    @Autowired
+    private UserIdentityCache userIdentityCache;
+
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VENDORS, key = "#userId")
     public Vendor registerVendor(Long userId, VendorRegistrationRequest request) {
         logger.info("Registering vendor for user ID: {}", userId);
         
@@ -61,6 +79,7 @@ public class VendorService {
             // Update user role to VENDOR
             user.setRole(User.Role.VENDOR);
             userRepository.save(user);
+            userIdentityCache.evict(user);
 
             // Create vendor profile
             Vendor vendor = new Vendor();
@@ -71,6 +90,8 @@ public class VendorService {
             vendor.setApproved(false); // Requires admin approval
 
             Vendor savedVendor = vendorRepository.save(vendor);
+            dashboardMetrics.vendorAdded(false);
+            vendorRollupService.vendorRegistered(savedVendor.getId());
             logger.info("Vendor registration completed - ID: {}, Business: {}", 
                        savedVendor.getId(), savedVendor.getBusinessName());
 
@@ -84,11 +105,12 @@ public class VendorService {
         }
     }
 
+    @Cacheable(cacheNames = CacheConfig.VENDORS, key = "#userId")
     public Vendor getVendorProfile(Long userId) {
         logger.debug("Fetching vendor profile for user ID: {}", userId);
         
         try {
-            return vendorRepository.findByUserId(userId)
+            return vendorRepository.findWithUserByUserId(userId)
                     .orElseThrow(() -> {
                         logger.warn("Vendor profile not found for user ID: {}", userId);
                         return new BusinessException("Vendor profile not found");
@@ -99,6 +121,7 @@ public class VendorService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.VENDORS, key = "#userId")
     public Vendor updateVendorProfile(Long userId, VendorRegistrationRequest request) {
         logger.info("Updating vendor profile for user ID: {}", userId);
         
@@ -154,6 +177,9 @@ public class VendorService {
             book.setApproved(false); // Requires admin approval
 
             Book savedBook = bookRepository.save(book);
+            dashboardMetrics.bookAdded(false);
+            vendorRollupService.bookAdded(vendor.getId(), false);
+            bookDetailLoader.bookCreated(savedBook.getId());
             logger.info("Book added successfully - ID: {}, Title: {}, Vendor: {}", 
                        savedBook.getId(), savedBook.getTitle(), vendor.getBusinessName());
 
@@ -188,6 +214,7 @@ public class VendorService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     public Book updateBook(Long userId, Long bookId, BookCreateRequest request) {
         logger.info("Vendor updating book - User ID: {}, Book ID: {}", userId, bookId);
         
@@ -218,9 +245,13 @@ public class VendorService {
             book.setPrice(request.getPrice());
             book.setStockQuantity(request.getStockQuantity());
             book.setImageUrl(request.getImageUrl());
+            boolean wasApproved = book.isApproved();
             book.setApproved(false); // Requires re-approval after changes
 
             Book updatedBook = bookRepository.save(book);
+            dashboardMetrics.bookChanged();
+            dashboardMetrics.bookApprovalChanged(wasApproved, false);
+            vendorRollupService.bookApprovalChanged(vendor.getId(), wasApproved, false);
             logger.info("Book updated successfully - ID: {}, Title: {}", 
                        updatedBook.getId(), updatedBook.getTitle());
 
@@ -235,6 +266,7 @@ public class VendorService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     public void deleteBook(Long userId, Long bookId) {
         logger.info("Vendor deleting book - User ID: {}, Book ID: {}", userId, bookId);
         
@@ -259,6 +291,8 @@ public class VendorService {
             }
 
             bookRepository.delete(book);
+            dashboardMetrics.bookRemoved(book.isApproved());
+            vendorRollupService.bookRemoved(vendor.getId(), book.isApproved());
             logger.info("Book deleted successfully - ID: {}, Title: {}", bookId, book.getTitle());
             
         } catch (BusinessException ex) {
@@ -279,28 +313,22 @@ public class VendorService {
                         return new BusinessException("Vendor profile not found");
                     });
 
-            List<Book> vendorBooks = vendor.getBooks();
-            
-            // Calculate statistics
-            int totalBooks = vendorBooks.size();
-            int approvedBooks = (int) vendorBooks.stream().filter(Book::isApproved).count();
-            int pendingBooks = totalBooks - approvedBooks;
-            
-            BigDecimal totalRevenue = calculateTotalRevenue(vendor.getId());
-            int totalOrders = getTotalOrdersCount(vendor.getId());
+            // Statistics come from the per-vendor rollup row instead of joining order history
+            VendorSalesRollup rollup = vendorRollupService.getRollup(vendor.getId());
 
             Map<String, Object> dashboard = Map.of(
                 "vendorInfo", vendor,
-                "totalBooks", totalBooks,
-                "approvedBooks", approvedBooks,
-                "pendingBooks", pendingBooks,
-                "totalRevenue", totalRevenue,
-                "totalOrders", totalOrders,
-                "recentBooks", vendorBooks.stream().limit(5).collect(Collectors.toList())
+                "totalBooks", rollup.getTotalBooks(),
+                "approvedBooks", rollup.getApprovedBooks(),
+                "pendingBooks", rollup.getPendingBooks(),
+                "totalRevenue", rollup.getTotalRevenue(),
+                "totalOrders", rollup.getOrderCount(),
+                "unitsSold", rollup.getUnitsSold(),
+                "recentBooks", bookRepository.findTop5ByVendorIdOrderByCreatedAtDesc(vendor.getId())
             );
 
             logger.info("Dashboard generated for vendor: {} - {} books, {} orders", 
-                       vendor.getBusinessName(), totalBooks, totalOrders);
+                       vendor.getBusinessName(), rollup.getTotalBooks(), rollup.getOrderCount());
 
             return dashboard;
             
@@ -310,24 +338,6 @@ public class VendorService {
         }
     }
 
-    private BigDecimal calculateTotalRevenue(Long vendorId) {
-        try {
-            return orderRepository.getVendorRevenue(vendorId);
-        } catch (Exception e) {
-            logger.error("Error calculating revenue for vendor ID: {}", vendorId, e);
-            return BigDecimal.ZERO;
-        }
-    }
-
-    private int getTotalOrdersCount(Long vendorId) {
-        try {
-            return (int) orderRepository.countOrdersByVendorId(vendorId);
-        } catch (Exception e) {
-            logger.error("Error counting orders for vendor ID: {}", vendorId, e);
-            return 0;
-        }
-    }
-
     public List<Order> getVendorOrders(Long userId) {
         logger.debug("Fetching orders for vendor user ID: {}", userId);
 
@@ -350,6 +360,7 @@ public class VendorService {
     }
 
     // Add method to update order status:
+    @Transactional
     public Order updateOrderStatus(Long userId, Long orderId, Order.OrderStatus newStatus) {
         logger.info("Vendor updating order status - User ID: {}, Order ID: {}, Status: {}", userId, orderId, newStatus);
 
@@ -368,6 +379,7 @@ public class VendorService {
                 throw new BusinessException("You can only update orders containing your books");
             }
 
+            stockReservationService.onStatusChange(order, order.getStatus(), newStatus);
             order.setStatus(newStatus);
             Order updatedOrder = orderRepository.save(order);
 
@@ -380,6 +392,7 @@ public class VendorService {
         }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId")
     public Book updateBookImage(Long userId, Long bookId, String imageUrl) {
         logger.info("Vendor updating book image - User ID: {}, Book ID: {}, Image: {}", userId, bookId, imageUrl);
 
@@ -405,6 +418,7 @@ public class VendorService {
 
             book.setImageUrl(imageUrl);
             Book updatedBook = bookRepository.save(book);
+            dashboardMetrics.bookChanged();
 
             logger.info("Book image updated successfully - Book ID: {}, New Image: {}",
                     bookId, imageUrl);
@@ -417,4 +431,4 @@ public class VendorService {
             throw new RuntimeException("Failed to update book image");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.bookstore.bookstore_app.benchmark;
+
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.CartItem;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.CartItemRepository;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import com.bookstore.bookstore_app.service.CartService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Cost of CartService.addToCart with repositories stubbed out, so what is left is mostly the
+ * logging it does, under the real log4j2.xml. "synchronous" forces the classic context selector
+ * (every appender runs on the caller); "async" uses the ring buffer from
+ * log4j2.component.properties. Both write to the console and ./logs like the application does.
+ * Each mode needs its own forked JVM, which needs the test classpath on the java command line:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt)
+ *        com.bookstore.bookstore_app.benchmark.CartLoggingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class CartLoggingBenchmark {
+
+    private static final String SYNC_SELECTOR =
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector";
+
+    private CartService cartService;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        Book book = new Book();
+        book.setId(2L);
+        book.setStockQuantity(Integer.MAX_VALUE);
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        BookRepository bookRepository = mock(BookRepository.class, withSettings().stubOnly());
+        CartItemRepository cartItemRepository = mock(CartItemRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
+        when(cartItemRepository.findByUserIdAndBookId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        when(cartItemRepository.save(any(CartItem.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        cartService = new CartService();
+        ReflectionTestUtils.setField(cartService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(cartService, "bookRepository", bookRepository);
+        ReflectionTestUtils.setField(cartService, "cartItemRepository", cartItemRepository);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = SYNC_SELECTOR)
+    public CartItem synchronous() {
+        return cartService.addToCart(1L, 2L, 1);
+    }
+
+    @Benchmark
+    @Fork(1)
+    public CartItem async() {
+        return cartService.addToCart(1L, 2L, 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CartLoggingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,77 @@
+package com.bookstore.bookstore_app.benchmark;
+
+import com.bookstore.bookstore_app.config.JwtPrincipal;
+import com.bookstore.bookstore_app.config.JwtUtil;
+import com.bookstore.bookstore_app.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of the JWT filter before and after the parse-once change.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.bookstore.bookstore_app.benchmark.JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey12345678901234567890123456";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3600000L, 10000);
+        token = jwtUtil.generateToken("bench@example.com", User.Role.USER, 7L);
+    }
+
+    // The previous filter: five independent parses, each rebuilding the HMAC key
+    @Benchmark
+    public void legacyFilterPath(Blackhole bh) {
+        bh.consume(legacyClaims().getSubject());
+        bh.consume(legacyClaims() != null);
+        bh.consume(legacyClaims().getExpiration().before(new Date()));
+        bh.consume(legacyClaims().get("role", String.class));
+        bh.consume(legacyClaims().get("userId"));
+    }
+
+    @Benchmark
+    public JwtPrincipal parseOnce() {
+        return jwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedVerify() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
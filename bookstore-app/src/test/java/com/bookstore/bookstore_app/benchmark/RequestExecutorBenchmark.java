@@ -0,0 +1,95 @@
+package com.bookstore.bookstore_app.benchmark;
+
+import com.bookstore.bookstore_app.config.VirtualThreads;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to drain a burst of requests that each block on a slow database call, on Tomcat's default
+ * 200-thread worker pool versus one virtual thread per request. The "synchronized" call type
+ * blocks while holding a monitor, as Connector/J 8.0 does, which pins the virtual thread and
+ * brings it back to carrier-pool throughput.
+ * Needs a Java 21 runtime for the virtual executor; build with -Pjava21, then run with:
+ *   mvn -Pjava21 test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.bookstore.bookstore_app.benchmark.RequestExecutorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestExecutorBenchmark {
+
+    // Tomcat's default server.tomcat.threads.max
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"plain", "synchronized"})
+    public String callType;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"20"})
+    public int dbLatencyMs;
+
+    private ExecutorService service;
+
+    @Setup
+    public void setUp() {
+        if ("virtual".equals(executor)) {
+            service = VirtualThreads.newPerTaskExecutor();
+        } else {
+            service = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        service.shutdown();
+        service.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void drainBurst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        boolean pinning = "synchronized".equals(callType);
+        for (int i = 0; i < requests; i++) {
+            Object connection = new Object();
+            service.execute(() -> {
+                try {
+                    if (pinning) {
+                        synchronized (connection) {
+                            Thread.sleep(dbLatencyMs);
+                        }
+                    } else {
+                        Thread.sleep(dbLatencyMs);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RequestExecutorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
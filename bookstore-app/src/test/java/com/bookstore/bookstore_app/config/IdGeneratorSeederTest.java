@@ -0,0 +1,79 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.IdGenerators;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.service.BookSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Simulates a database created under IDENTITY keys: rows exist but the generator has never run.
+ * Runs outside a test transaction because the table generator reads id_generators on its own
+ * connection and would not see (or would block on) uncommitted seed rows.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(IdGeneratorSeeder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGeneratorSeederTest {
+
+    private static final long LEGACY_ID = 1000;
+
+    @Autowired
+    private IdGeneratorSeeder idGeneratorSeeder;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Committed book saves notify the search index listener
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM books");
+    }
+
+    @Test
+    void seed_NewIdsStartAboveExistingRows() {
+        jdbcTemplate.update("INSERT INTO books (id, title, author, price, stock_quantity, is_approved, rating_avg, "
+                + "total_ratings, rating_sum, created_at) VALUES (?, 'Legacy', 'Author', 10.00, 1, TRUE, 0, 0, 0, "
+                + "CURRENT_TIMESTAMP)", LEGACY_ID);
+
+        idGeneratorSeeder.seed();
+        Book first = bookRepository.save(new Book("First", "Author", "isbn-1", new BigDecimal("10.00")));
+        Book second = bookRepository.save(new Book("Second", "Author", "isbn-2", new BigDecimal("10.00")));
+
+        assertTrue(first.getId() > LEGACY_ID, "first new ID " + first.getId());
+        assertEquals(first.getId() + 1, second.getId());
+        assertEquals(3, bookRepository.count());
+    }
+
+    @Test
+    void seed_NeverLowersGenerator() {
+        jdbcTemplate.update("INSERT INTO books (id, title, author, price, stock_quantity, is_approved, rating_avg, "
+                + "total_ratings, rating_sum, created_at) VALUES (?, 'Legacy', 'Author', 10.00, 1, TRUE, 0, 0, 0, "
+                + "CURRENT_TIMESTAMP)", 5L);
+        jdbcTemplate.update("MERGE INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                + IdGenerators.VALUE_COLUMN + ") KEY (" + IdGenerators.NAME_COLUMN + ") VALUES ('books', 5000)");
+
+        idGeneratorSeeder.seed();
+
+        assertEquals(5000L, jdbcTemplate.queryForObject("SELECT " + IdGenerators.VALUE_COLUMN + " FROM "
+                + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = 'books'", Long.class));
+    }
+}
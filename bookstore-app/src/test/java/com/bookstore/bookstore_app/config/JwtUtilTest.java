@@ -1,11 +1,11 @@
 package com.bookstore.bookstore_app.config;
 
+import com.bookstore.bookstore_app.entity.User;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
 
@@ -13,13 +13,13 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class JwtUtilTest {
 
+    private static final String SECRET = "testSecretKey123456789012345678901234567890";
+
     private JwtUtil jwtUtil;
 
     @BeforeEach
     void setUp() {
-        jwtUtil = new JwtUtil();
-        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKey123456789012345678901234567890");
-        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L); // 1 hour
+        jwtUtil = new JwtUtil(SECRET, 3600000L, 10000); // 1 hour
     }
 
     @Test
@@ -68,7 +68,7 @@ class JwtUtilTest {
     @Test
     void validateToken_ExpiredToken() {
         // Set a very short expiration time
-        ReflectionTestUtils.setField(jwtUtil, "expiration", 1L);
+        jwtUtil = new JwtUtil(SECRET, 1L, 10000);
         String email = "test@example.com";
         String token = jwtUtil.generateToken(email);
 
@@ -97,7 +97,7 @@ class JwtUtilTest {
     @Test
     void isTokenExpired_Expired() {
         // Set a very short expiration time
-        ReflectionTestUtils.setField(jwtUtil, "expiration", 1L);
+        jwtUtil = new JwtUtil(SECRET, 1L, 10000);
         String email = "test@example.com";
         String token = jwtUtil.generateToken(email);
 
@@ -119,4 +119,70 @@ class JwtUtilTest {
 
         assertTrue(isExpired);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void verifyToken_ReturnsAllClaims() {
+        String token = jwtUtil.generateToken("vendor@example.com", User.Role.VENDOR, 42L);
+
+        JwtPrincipal principal = jwtUtil.verifyToken(token);
+
+        assertNotNull(principal);
+        assertEquals("vendor@example.com", principal.getEmail());
+        assertEquals(42L, principal.getUserId());
+        assertEquals(User.Role.VENDOR, principal.getRole());
+        assertTrue(principal.getExpiresAtMillis() > System.currentTimeMillis());
+    }
+
+    @Test
+    void verifyToken_CachedPrincipalReused() {
+        String token = jwtUtil.generateToken("test@example.com", User.Role.USER, 1L);
+
+        JwtPrincipal first = jwtUtil.verifyToken(token);
+        JwtPrincipal second = jwtUtil.verifyToken(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void verifyToken_InvalidToken() {
+        assertNull(jwtUtil.verifyToken("invalid.token.here"));
+        assertNull(jwtUtil.verifyToken(null));
+    }
+
+    @Test
+    void verifyToken_ExpiredToken() {
+        jwtUtil = new JwtUtil(SECRET, 1L, 10000);
+        String token = jwtUtil.generateToken("test@example.com", User.Role.USER, 1L);
+
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        assertNull(jwtUtil.verifyToken(token));
+    }
+
+    @Test
+    void verifiedTokenCache_EvictsAtExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("expired", new JwtPrincipal("a@example.com", 1L, User.Role.USER, System.currentTimeMillis() - 1));
+        cache.put("live", new JwtPrincipal("b@example.com", 2L, User.Role.USER, System.currentTimeMillis() + 60000));
+
+        assertNull(cache.get("expired"));
+        assertNotNull(cache.get("live"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void verifiedTokenCache_StaysBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        long expiry = System.currentTimeMillis() + 60000;
+        cache.put("t1", new JwtPrincipal("a@example.com", 1L, User.Role.USER, expiry));
+        cache.put("t2", new JwtPrincipal("b@example.com", 2L, User.Role.USER, expiry));
+        cache.put("t3", new JwtPrincipal("c@example.com", 3L, User.Role.USER, expiry));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("t3"));
+    }
+}
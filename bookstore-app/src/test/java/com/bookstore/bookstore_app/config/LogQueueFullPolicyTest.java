@@ -0,0 +1,34 @@
+package com.bookstore.bookstore_app.config;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogQueueFullPolicyTest {
+
+    @Test
+    void getRoute_DropsInfoAndBelowButKeepsWarnings() {
+        LogQueueFullPolicy policy = new LogQueueFullPolicy();
+        long before = LogQueueFullPolicy.discarded();
+
+        assertEquals(EventRoute.DISCARD, policy.getRoute(-1, Level.INFO));
+        assertEquals(EventRoute.DISCARD, policy.getRoute(-1, Level.DEBUG));
+        assertEquals(EventRoute.ENQUEUE, policy.getRoute(-1, Level.WARN));
+        assertEquals(EventRoute.ENQUEUE, policy.getRoute(-1, Level.ERROR));
+        assertEquals(before + 2, LogQueueFullPolicy.discarded());
+    }
+
+    @Test
+    void droppedEventsAppender_CountsPerAppender() {
+        DroppedEventsAppender appender = DroppedEventsAppender.createAppender("TestLogsDropped");
+        long before = DroppedEventsAppender.counts().getOrDefault("TestLogsDropped", 0L);
+
+        appender.append(Log4jLogEvent.newBuilder().setLevel(Level.INFO).build());
+        appender.append(Log4jLogEvent.newBuilder().setLevel(Level.DEBUG).build());
+
+        assertEquals(before + 2, DroppedEventsAppender.counts().get("TestLogsDropped"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.dto.ThreadingStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PinnedThreadMonitorTest {
+
+    private PinnedThreadMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new PinnedThreadMonitor();
+    }
+
+    @Test
+    void stats_PlatformModeReportsNothingPinned() {
+        monitor.start();
+
+        ThreadingStats stats = monitor.stats();
+
+        assertEquals("platform", stats.getMode());
+        assertEquals(0, stats.getPinnedEvents());
+        assertTrue(stats.getPinnedSites().isEmpty());
+        assertNull(ReflectionTestUtils.getField(monitor, "stream"));
+    }
+
+    @Test
+    void record_AggregatesBySiteBusiestFirst() {
+        ReflectionTestUtils.setField(monitor, "virtualThreadsEnabled", true);
+        monitor.record("com.mysql.cj.NativeSession.execSQL", Duration.ofMillis(30));
+        monitor.record("com.zaxxer.hikari.pool.HikariPool.getConnection", Duration.ofMillis(25));
+        monitor.record("com.mysql.cj.NativeSession.execSQL", Duration.ofMillis(45));
+
+        ThreadingStats stats = monitor.stats();
+
+        assertEquals("virtual", stats.getMode());
+        assertEquals(3, stats.getPinnedEvents());
+        assertEquals(100, stats.getPinnedMillisTotal());
+        assertEquals(45, stats.getPinnedMillisMax());
+        assertEquals(List.of("com.mysql.cj.NativeSession.execSQL", "com.zaxxer.hikari.pool.HikariPool.getConnection"),
+                List.copyOf(stats.getPinnedSites().keySet()));
+        assertEquals(2L, stats.getPinnedSites().get("com.mysql.cj.NativeSession.execSQL"));
+    }
+
+    @Test
+    void virtualThreads_AvailableOnlyOnJava21() {
+        boolean java21 = Runtime.version().feature() >= 21;
+
+        assertEquals(java21, VirtualThreads.isSupported());
+        if (!java21) {
+            assertThrows(IllegalStateException.class, VirtualThreads::newPerTaskExecutor);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bookstore.bookstore_app.config;
+
+import com.bookstore.bookstore_app.dto.EndpointMetrics;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsTest {
+
+    private RequestMetrics requestMetrics;
+    private RequestMetricsFilter filter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        requestMetrics = new RequestMetrics();
+        filter = new RequestMetricsFilter(requestMetrics);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:request-metrics;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(h2));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS items");
+        jdbcTemplate.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.batchUpdate("INSERT INTO items VALUES (?, ?)", List.of(
+                new Object[]{1, "one"}, new Object[]{2, "two"}, new Object[]{3, "three"}));
+    }
+
+    @Test
+    void filter_CountsStatementsAndRowsPerEndpoint() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            perform("GET", "/api/items/{id}", () -> {
+                jdbcTemplate.queryForList("SELECT name FROM items", String.class);
+                jdbcTemplate.queryForObject("SELECT name FROM items WHERE id = ?", String.class, 2);
+            });
+        }
+        perform("GET", null, () -> { });
+
+        List<EndpointMetrics> stats = requestMetrics.snapshot();
+
+        EndpointMetrics items = find(stats, "GET /api/items/{id}");
+        assertEquals(2, items.getRequests());
+        assertEquals(4, items.getSqlStatements());
+        assertEquals(2.0, items.getAvgStatements());
+        assertEquals(8, items.getRowsFetched());
+        assertEquals(2L, items.getStatementHistogram().get("2"));
+        assertEquals(2L, items.getLatencyMsHistogram().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(1, find(stats, "GET " + RequestMetricsFilter.UNMAPPED).getRequests());
+    }
+
+    @Test
+    void filter_IgnoresStatementsOutsideRequests() throws Exception {
+        jdbcTemplate.queryForList("SELECT name FROM items", String.class);
+        perform("POST", "/api/items", () -> { });
+
+        EndpointMetrics items = find(requestMetrics.snapshot(), "POST /api/items");
+        assertEquals(0, items.getSqlStatements());
+        assertEquals(1L, items.getStatementHistogram().get("0"));
+        assertNull(RequestMetrics.current());
+    }
+
+    @Test
+    void fingerprint_GroupsStatementsByShape() {
+        assertEquals("select * from books where id = ? and title = ?",
+                RequestMetrics.fingerprint("SELECT *  FROM books\n WHERE id = 42 AND title = 'It''s'"));
+        assertEquals("select id from books where id in (?...)",
+                RequestMetrics.fingerprint("select id from books where id in (?, ?, ?)"));
+    }
+
+    private void perform(String method, String pattern, Runnable work) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/items/2");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req,
+                                   HttpServletResponse res) {
+                if (pattern != null) {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                }
+                work.run();
+            }
+        });
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private static EndpointMetrics find(List<EndpointMetrics> stats, String endpoint) {
+        return stats.stream().filter(m -> m.getEndpoint().equals(endpoint)).findFirst()
+                .orElseThrow(() -> new AssertionError("No metrics for " + endpoint));
+    }
+}
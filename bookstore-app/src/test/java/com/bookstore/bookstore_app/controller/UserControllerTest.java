@@ -6,6 +6,7 @@ import com.bookstore.bookstore_app.dto.LoginResponse;
 import com.bookstore.bookstore_app.dto.RegisterRequest;
 import com.bookstore.bookstore_app.entity.User;
 import com.bookstore.bookstore_app.service.UserService;
+import com.bookstore.bookstore_app.config.JwtPrincipal;
 import com.bookstore.bookstore_app.config.JwtUtil;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -57,8 +58,8 @@ public class UserControllerTest {
         String token = "Bearer validToken";
         User user = new User();
         user.setEmail("test@example.com");
-        when(jwtUtil.validateToken("validToken")).thenReturn(true);
-        when(jwtUtil.getEmailFromToken("validToken")).thenReturn("test@example.com");
+        when(jwtUtil.verifyToken("validToken")).thenReturn(
+                new JwtPrincipal("test@example.com", 1L, User.Role.USER, System.currentTimeMillis() + 60000));
         when(userService.getUserByEmail("test@example.com")).thenReturn(user);
 
         ResponseEntity<ApiResponse<User>> response = userController.getUserProfile(token);
@@ -0,0 +1,266 @@
+package com.bookstore.bookstore_app.loadtest;
+
+import com.bookstore.bookstore_app.entity.Address;
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import com.bookstore.bookstore_app.repository.AddressRepository;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import com.bookstore.bookstore_app.service.CartService;
+import com.bookstore.bookstore_app.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Flash-sale load test of the cart to order path against in-memory H2.
+ * N simulated users race to buy from a small pool of books, each calling
+ * CartService.addToCart and then OrderService.createOrder. Reports orders/sec,
+ * p50/p99 checkout latency, deadlocks, lock timeouts, retries and oversell, and
+ * writes target/load-test/checkout-report.json so runs can be compared between releases.
+ *
+ * Not part of the regular test run. Run with: mvn -Pload-test test
+ * Tune with -Dloadtest.users, -Dloadtest.threads, -Dloadtest.books, -Dloadtest.stock,
+ * -Dloadtest.max-quantity, -Dloadtest.max-attempts and -Dloadtest.seed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:checkout-load;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "auth.email-filter.snapshot-path=",
+        "jdbc.streaming-fetch-size=500"
+})
+class CheckoutLoadHarness {
+
+    private static final Logger logger = LogManager.getLogger(CheckoutLoadHarness.class);
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 200);
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 24);
+    private static final int BOOKS = Integer.getInteger("loadtest.books", 5);
+    private static final int STOCK_PER_BOOK = Integer.getInteger("loadtest.stock", 60);
+    private static final int MAX_QUANTITY = Integer.getInteger("loadtest.max-quantity", 3);
+    private static final int MAX_ATTEMPTS = Integer.getInteger("loadtest.max-attempts", 3);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+
+    private static final File REPORT = new File("target/load-test/checkout-report.json");
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger deadlocks = new AtomicInteger();
+    private final AtomicInteger lockTimeouts = new AtomicInteger();
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicInteger soldOut = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Test
+    void concurrentCheckout() throws Exception {
+        List<Long> bookIds = seedBooks();
+        List<Shopper> shoppers = seedShoppers(bookIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> latencies = new ArrayList<>(shoppers.size());
+        for (Shopper shopper : shoppers) {
+            latencies.add(executor.submit(() -> {
+                start.await();
+                return checkout(shopper);
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        long[] completed = new long[shoppers.size()];
+        int orders = 0;
+        for (Future<Long> latency : latencies) {
+            long nanos = latency.get(5, TimeUnit.MINUTES);
+            if (nanos >= 0) {
+                completed[orders++] = nanos;
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - began) / 1e9;
+        executor.shutdown();
+
+        long[] orderLatencies = Arrays.copyOf(completed, orders);
+        Arrays.sort(orderLatencies);
+        int oversold = countOversold(bookIds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", USERS);
+        report.put("threads", THREADS);
+        report.put("books", BOOKS);
+        report.put("stockPerBook", STOCK_PER_BOOK);
+        report.put("seed", SEED);
+        report.put("orders", orders);
+        report.put("soldOut", soldOut.get());
+        report.put("failures", failures.get());
+        report.put("elapsedSeconds", round(elapsedSeconds));
+        report.put("ordersPerSecond", round(orders / elapsedSeconds));
+        report.put("p50Millis", round(percentile(orderLatencies, 0.50) / 1e6));
+        report.put("p99Millis", round(percentile(orderLatencies, 0.99) / 1e6));
+        report.put("deadlocks", deadlocks.get());
+        report.put("lockTimeouts", lockTimeouts.get());
+        report.put("retries", retries.get());
+        report.put("oversoldUnits", oversold);
+
+        REPORT.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT, report);
+        logger.info("Checkout load test report ({}): {}", REPORT.getPath(), report);
+
+        assertEquals(0, oversold, "Stock was oversold");
+        assertEquals(0, failures.get(), "Checkouts failed for reasons other than stock");
+        assertEquals(USERS, orders + soldOut.get());
+    }
+
+    // Returns the checkout latency in nanos, or -1 if the shopper did not get an order
+    private long checkout(Shopper shopper) throws InterruptedException {
+        long began = System.nanoTime();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                cartService.addToCart(shopper.userId, shopper.bookId, shopper.quantity);
+                orderService.createOrder(shopper.userId, shopper.addressId);
+                return System.nanoTime() - began;
+            } catch (Exception ex) {
+                if (isLockConflict(ex) && attempt < MAX_ATTEMPTS) {
+                    retries.incrementAndGet();
+                    cartService.clearCart(shopper.userId);
+                    Thread.sleep(attempt * 5L);
+                } else if (ex instanceof BusinessException) {
+                    // Cart check or reservation found the book sold out: the expected flash-sale outcome
+                    soldOut.incrementAndGet();
+                    return -1;
+                } else {
+                    logger.warn("Checkout failed for user ID: {} - Error: {}", shopper.userId, ex.getMessage());
+                    failures.incrementAndGet();
+                    return -1;
+                }
+            }
+        }
+        failures.incrementAndGet();
+        return -1;
+    }
+
+    private boolean isLockConflict(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlockLoserDataAccessException
+                    || (cause instanceof SQLException && "40001".equals(((SQLException) cause).getSQLState()))) {
+                deadlocks.incrementAndGet();
+                return true;
+            }
+            if (cause instanceof CannotAcquireLockException || cause instanceof PessimisticLockingFailureException) {
+                lockTimeouts.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Units sold beyond the starting stock, plus any drift between stock and ordered quantities
+    private int countOversold(List<Long> bookIds) {
+        Map<Long, Integer> ordered = new HashMap<>();
+        jdbcTemplate.query("SELECT book_id, SUM(quantity) FROM order_items GROUP BY book_id",
+                rs -> { ordered.put(rs.getLong(1), rs.getInt(2)); });
+
+        int oversold = 0;
+        for (Book book : bookRepository.findAllById(bookIds)) {
+            int sold = ordered.getOrDefault(book.getId(), 0);
+            oversold += Math.max(0, sold - STOCK_PER_BOOK);
+            oversold += Math.max(0, -book.getStockQuantity());
+            if (STOCK_PER_BOOK - sold != book.getStockQuantity()) {
+                logger.error("Stock drift for book ID: {} - Start: {}, Sold: {}, Left: {}",
+                        book.getId(), STOCK_PER_BOOK, sold, book.getStockQuantity());
+                oversold += Math.abs(STOCK_PER_BOOK - sold - book.getStockQuantity());
+            }
+        }
+        return oversold;
+    }
+
+    private List<Long> seedBooks() {
+        List<Long> bookIds = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book("Flash Sale " + i, "Author " + i, "LOAD-" + SEED + "-" + i, new BigDecimal("12.50"));
+            book.setStockQuantity(STOCK_PER_BOOK);
+            book.setApproved(true);
+            bookIds.add(bookRepository.save(book).getId());
+        }
+        return bookIds;
+    }
+
+    private List<Shopper> seedShoppers(List<Long> bookIds) {
+        Random random = new Random(SEED);
+        List<Shopper> shoppers = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = userRepository.save(new User("shopper" + i + "@load.test", "secret", "Shopper", "No" + i));
+            Address address = addressRepository.save(new Address(user, i + " Load St", "Test City", "TS", "Testland", "00000"));
+            Long bookId = bookIds.get(random.nextInt(bookIds.size()));
+            shoppers.add(new Shopper(user.getId(), address.getId(), bookId, 1 + random.nextInt(MAX_QUANTITY)));
+        }
+        return shoppers;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static final class Shopper {
+        private final Long userId;
+        private final Long addressId;
+        private final Long bookId;
+        private final int quantity;
+
+        private Shopper(Long userId, Long addressId, Long bookId, int quantity) {
+            this.userId = userId;
+            this.addressId = addressId;
+            this.bookId = bookId;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the checkout cart reads (lines with books, and the total) each cost one statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CartItemRepositoryTest {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User customer;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(new User("cart@example.com", "secret", "Cart", "User"));
+        User other = entityManager.persist(new User("other@example.com", "secret", "Oth", "Er"));
+        Book cheap = entityManager.persist(new Book("Cheap", "Author", "isbn-1", new BigDecimal("4.50")));
+        Book dear = entityManager.persist(new Book("Dear", "Author", "isbn-2", new BigDecimal("19.99")));
+        entityManager.persist(new CartItem(customer, cheap, 3));
+        entityManager.persist(new CartItem(customer, dear, 2));
+        entityManager.persist(new CartItem(other, dear, 5));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void sumCartTotal_AddsPriceTimesQuantityInOneStatement() {
+        assertEquals(0, new BigDecimal("53.48").compareTo(cartItemRepository.sumCartTotal(customer.getId())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void sumCartTotal_EmptyCartIsZero() {
+        assertEquals(0, BigDecimal.ZERO.compareTo(cartItemRepository.sumCartTotal(-1L)));
+    }
+
+    @Test
+    void findWithBooksByUserId_LoadsPricesInOneStatement() {
+        List<CartItem> items = cartItemRepository.findWithBooksByUserId(customer.getId());
+
+        assertEquals(2, items.size());
+        assertEquals("Cheap", items.get(0).getBook().getTitle());
+        assertEquals(new BigDecimal("19.99"), items.get(1).getBook().getPrice());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
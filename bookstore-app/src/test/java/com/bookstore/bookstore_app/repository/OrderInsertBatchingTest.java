@@ -0,0 +1,105 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.*;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts JDBC round trips (single statements plus batch executions) for saving an order the way
+ * OrderService.createOrder does. With IDENTITY keys this was one insert per row, 1 + items per
+ * order; pooled table IDs let the items go out as a single batch. The generator's own trips to
+ * id_generators run on a separate connection once per allocation block and are not counted.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session.events.auto="
+                + "com.bookstore.bookstore_app.repository.OrderInsertBatchingTest$RoundTripCounter"
+})
+class OrderInsertBatchingTest {
+
+    private static final int ITEMS_PER_ORDER = 10;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User customer;
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(new User("buyer@example.com", "secret", "Buy", "Er"));
+        books = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            books.add(entityManager.persist(new Book("Book " + i, "Author", "isbn-" + i, new BigDecimal("12.50"))));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        RoundTripCounter.reset();
+    }
+
+    @Test
+    void saveOrder_ItemsGoOutAsOneBatch() {
+        Order order = new Order(entityManager.find(User.class, customer.getId()), "ORD-BATCH", new BigDecimal("125.00"));
+        orderRepository.save(order);
+        List<OrderItem> items = new ArrayList<>();
+        for (Book book : books) {
+            items.add(new OrderItem(order, entityManager.getEntityManager().getReference(Book.class, book.getId()),
+                    1, book.getPrice()));
+        }
+        order.setOrderItems(items);
+        orderRepository.save(order);
+        RoundTripCounter.reset();
+
+        entityManager.flush();
+
+        assertEquals(0, RoundTripCounter.statements.get());
+        assertEquals(2, RoundTripCounter.batches.get());
+        assertEquals(ITEMS_PER_ORDER, orderRepository.findWithItemsByUserId(customer.getId()).get(0).getOrderItems().size());
+    }
+
+    @Test
+    void saveBooks_IdsAreAssignedBeforeFlush() {
+        Book book = new Book("Unflushed", "Author", "isbn-new", new BigDecimal("9.99"));
+
+        entityManager.persist(book);
+
+        // A table-generated key is known at persist time, so nothing has been sent yet
+        assertNotNull(book.getId());
+        assertEquals(0, RoundTripCounter.statements.get() + RoundTripCounter.batches.get());
+    }
+
+    // Registered per session through hibernate.session.events.auto
+    public static class RoundTripCounter implements SessionEventListener {
+        static final AtomicInteger statements = new AtomicInteger();
+        static final AtomicInteger batches = new AtomicInteger();
+
+        static void reset() {
+            statements.set(0);
+            batches.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements issued while loading and walking order lists (items, books and
+ * categories, as the JSON serializer would) to guard against N+1 lazy loading.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jdbc.streaming-fetch-size=500"
+})
+class OrderRepositoryTest {
+
+    private static final int ORDERS_PER_USER = 5;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User customer;
+    private Vendor vendor;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customer = entityManager.persist(new User("reader@example.com", "secret", "Read", "Er"));
+        User other = entityManager.persist(new User("other@example.com", "secret", "Oth", "Er"));
+        vendor = entityManager.persist(new Vendor(
+                entityManager.persist(new User("vendor@example.com", "secret", "Ven", "Dor")), "Vendor Books"));
+
+        Book[] books = new Book[ITEMS_PER_ORDER];
+        for (int i = 0; i < books.length; i++) {
+            Category category = entityManager.persist(new Category("Category " + i, null));
+            Book book = new Book("Book " + i, "Author " + i, "isbn-" + i, new BigDecimal("10.00"));
+            book.setCategory(category);
+            book.setVendor(vendor);
+            books[i] = entityManager.persist(book);
+        }
+
+        for (int i = 0; i < ORDERS_PER_USER; i++) {
+            createOrder(customer, "ORD-C" + i, books);
+        }
+        createOrder(other, "ORD-O", books);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findWithItemsByUserId_LoadsHistoryInOneStatement() {
+        List<Order> orders = orderRepository.findWithItemsByUserId(customer.getId());
+
+        assertEquals(ORDERS_PER_USER, orders.size());
+        assertEquals(ORDERS_PER_USER * ITEMS_PER_ORDER, walk(orders));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllWithItems_LoadsAllOrdersInOneStatement() {
+        List<Order> orders = orderRepository.findAllWithItems();
+
+        assertEquals(ORDERS_PER_USER + 1, orders.size());
+        assertEquals((ORDERS_PER_USER + 1) * ITEMS_PER_ORDER, walk(orders));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findOrdersByVendorId_KeepsFullItemListInOneStatement() {
+        List<Order> orders = orderRepository.findOrdersByVendorId(vendor.getId());
+
+        assertEquals(ORDERS_PER_USER + 1, orders.size());
+        assertEquals((ORDERS_PER_USER + 1) * ITEMS_PER_ORDER, walk(orders));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamAllWithItems_StreamsCompleteOrdersInOneStatement() {
+        List<Order> orders;
+        try (Stream<Order> stream = orderRepository.streamAllWithItems()) {
+            orders = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(ORDERS_PER_USER + 1, orders.size());
+        assertEquals((ORDERS_PER_USER + 1) * ITEMS_PER_ORDER, walk(orders));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamAllWithItems_OrdersStayCompleteWhenContextIsCleared() {
+        // The export clears the persistence context while the stream is open
+        int orders = 0;
+        try (Stream<Order> stream = orderRepository.streamAllWithItems()) {
+            Iterator<Order> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                assertEquals(ITEMS_PER_ORDER, walk(List.of(iterator.next())));
+                entityManager.clear();
+                orders++;
+            }
+        }
+
+        assertEquals(ORDERS_PER_USER + 1, orders);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // Touches every association the order JSON exposes and returns the number of items seen
+    private int walk(List<Order> orders) {
+        int items = 0;
+        for (Order order : orders) {
+            for (OrderItem item : order.getOrderItems()) {
+                assertNotNull(item.getBook().getTitle());
+                assertNotNull(item.getBook().getCategory().getName());
+                items++;
+            }
+        }
+        return items;
+    }
+
+    private void createOrder(User user, String orderNumber, Book[] books) {
+        Order order = entityManager.persist(new Order(user, orderNumber, new BigDecimal("30.00")));
+        for (Book book : books) {
+            entityManager.persist(new OrderItem(order, book, 1, book.getPrice()));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.dto.ReviewSummary;
+import com.bookstore.bookstore_app.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the keyset review listing and the claim / bulk moderation statements behind the review queue.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class ReviewRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User reader;
+    private Book book;
+    private Book otherBook;
+
+    @BeforeEach
+    void setUp() {
+        reader = entityManager.persist(new User("reader@example.com", "secret", "Read", "Er"));
+        book = entityManager.persist(new Book("Book", "Author", "isbn-1", new BigDecimal("10.00")));
+        otherBook = entityManager.persist(new Book("Other", "Author", "isbn-2", new BigDecimal("10.00")));
+    }
+
+    @Test
+    void findApprovedByBookId_PagesNewestFirstAcrossTiedTimestamps() {
+        for (int i = 0; i < 5; i++) {
+            // Pairs share a timestamp so the id tie-break decides the order
+            review(book, BASE.plusMinutes(i / 2), true);
+        }
+        review(book, BASE.plusMinutes(10), false);
+        review(otherBook, BASE.plusMinutes(10), true);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ReviewSummary> seen = new ArrayList<>(reviewRepository.findApprovedByBookId(book.getId(), PageRequest.of(0, 2)));
+        while (true) {
+            ReviewSummary last = seen.get(seen.size() - 1);
+            List<ReviewSummary> next = reviewRepository.findNextApprovedByBookId(
+                    book.getId(), last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+            if (next.isEmpty()) {
+                break;
+            }
+            seen.addAll(next);
+        }
+
+        assertEquals(5, seen.size());
+        assertTrue(seen.stream().allMatch(r -> r.getBookId().equals(book.getId())));
+        for (int i = 1; i < seen.size(); i++) {
+            ReviewSummary previous = seen.get(i - 1);
+            ReviewSummary current = seen.get(i);
+            assertTrue(previous.getCreatedAt().isAfter(current.getCreatedAt())
+                    || (previous.getCreatedAt().equals(current.getCreatedAt()) && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void claim_GivesConcurrentModeratorsDisjointBatches() {
+        for (int i = 0; i < 4; i++) {
+            review(book, BASE.plusMinutes(i), false);
+        }
+        review(book, BASE, true);
+        entityManager.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> firstCandidates = reviewRepository.findClaimableIds(now, PageRequest.of(0, 3));
+        List<Long> secondCandidates = reviewRepository.findClaimableIds(now, PageRequest.of(0, 3));
+        assertEquals(firstCandidates, secondCandidates);
+
+        assertEquals(3, reviewRepository.claim(firstCandidates, 1L, now, now.plusMinutes(15)));
+        // The second admin raced for the same ids and wins none of them
+        assertEquals(0, reviewRepository.claim(secondCandidates, 2L, now, now.plusMinutes(15)));
+        entityManager.clear();
+
+        assertEquals(3, reviewRepository.findClaimedBy(firstCandidates, 1L, now).size());
+        assertTrue(reviewRepository.findClaimedBy(secondCandidates, 2L, now).isEmpty());
+
+        List<Long> remaining = reviewRepository.findClaimableIds(now, PageRequest.of(0, 3));
+        assertEquals(1, remaining.size());
+        assertFalse(firstCandidates.contains(remaining.get(0)));
+
+        // Once the lease lapses the batch is claimable again
+        assertEquals(4, reviewRepository.findClaimableIds(now.plusMinutes(20), PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void moderateClaimed_OnlyChangesPendingReviewsClaimedByTheAdmin() {
+        Review mine = review(book, BASE, false);
+        Review theirs = review(book, BASE.plusMinutes(1), false);
+        Review unclaimed = review(book, BASE.plusMinutes(2), false);
+        entityManager.flush();
+
+        LocalDateTime now = LocalDateTime.now();
+        reviewRepository.claim(List.of(mine.getId()), 1L, now, now.plusMinutes(15));
+        reviewRepository.claim(List.of(theirs.getId()), 2L, now, now.plusMinutes(15));
+
+        int rejected = reviewRepository.moderateClaimed(
+                List.of(mine.getId(), theirs.getId(), unclaimed.getId()), 1L, false, true);
+        entityManager.clear();
+
+        assertEquals(1, rejected);
+        Review reloaded = reviewRepository.findById(mine.getId()).orElseThrow();
+        assertTrue(reloaded.isRejected());
+        assertFalse(reloaded.isApproved());
+        assertNull(reloaded.getClaimedBy());
+        assertEquals(2L, reviewRepository.findById(theirs.getId()).orElseThrow().getClaimedBy());
+        assertEquals(2, reviewRepository.countByIsApprovedFalseAndIsRejectedFalse());
+        assertEquals(List.of(theirs.getId(), unclaimed.getId()).stream().sorted().collect(Collectors.toList()),
+                reviewRepository.findClaimableIds(now.plusMinutes(20), PageRequest.of(0, 10)));
+    }
+
+    private Review review(Book target, LocalDateTime createdAt, boolean approved) {
+        Review review = new Review(reader, target, 4, "Worth reading");
+        review.setCreatedAt(createdAt);
+        review.setApproved(approved);
+        return entityManager.persist(review);
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookstore.bookstore_app.repository;
+
+import com.bookstore.bookstore_app.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class VendorSalesRollupRepositoryTest {
+
+    @Autowired
+    private VendorSalesRollupRepository rollupRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Vendor vendor;
+
+    @BeforeEach
+    void setUp() {
+        vendor = entityManager.persist(new Vendor(
+                entityManager.persist(new User("vendor@example.com", "secret", "Ven", "Dor")), "Vendor Books"));
+        entityManager.persist(new VendorSalesRollup(vendor.getId()));
+        entityManager.flush();
+    }
+
+    @Test
+    void addSale_IncrementsInPlace() {
+        assertEquals(1, rollupRepository.addSale(vendor.getId(), new BigDecimal("20.00"), 2));
+        assertEquals(1, rollupRepository.addSale(vendor.getId(), new BigDecimal("5.50"), 1));
+        entityManager.clear();
+
+        VendorSalesRollup rollup = rollupRepository.findById(vendor.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("25.50").compareTo(rollup.getTotalRevenue()));
+        assertEquals(2, rollup.getOrderCount());
+        assertEquals(3, rollup.getUnitsSold());
+    }
+
+    @Test
+    void addBooks_AppliesDeltas() {
+        rollupRepository.addBooks(vendor.getId(), 0, 1);
+        rollupRepository.addBooks(vendor.getId(), 0, 1);
+        rollupRepository.addBooks(vendor.getId(), 1, -1);
+        entityManager.clear();
+
+        VendorSalesRollup rollup = rollupRepository.findById(vendor.getId()).orElseThrow();
+        assertEquals(1, rollup.getApprovedBooks());
+        assertEquals(1, rollup.getPendingBooks());
+        assertEquals(2, rollup.getTotalBooks());
+    }
+
+    @Test
+    void addSale_MissingRowUpdatesNothing() {
+        assertEquals(0, rollupRepository.addSale(vendor.getId() + 1, BigDecimal.TEN, 1));
+    }
+
+    @Test
+    void insertEmpty_CreatesRowForVendorMissingOne() {
+        Vendor newer = entityManager.persist(new Vendor(
+                entityManager.persist(new User("newer@example.com", "secret", "New", "Er")), "Newer Books"));
+        entityManager.flush();
+        assertEquals(List.of(newer.getId()), rollupRepository.findVendorIdsWithoutRollup());
+
+        assertEquals(1, rollupRepository.insertEmpty(newer.getId()));
+        entityManager.clear();
+
+        VendorSalesRollup rollup = rollupRepository.lockByVendorId(newer.getId()).orElseThrow();
+        assertEquals(0, rollup.getOrderCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(rollup.getTotalRevenue()));
+        assertTrue(rollupRepository.findVendorIdsWithoutRollup().isEmpty());
+    }
+
+    @Test
+    void getVendorUnitsSold_SumsQuantities() {
+        Book book = new Book("Book", "Author", "isbn-1", new BigDecimal("10.00"));
+        book.setVendor(vendor);
+        entityManager.persist(book);
+        User customer = entityManager.persist(new User("reader@example.com", "secret", "Read", "Er"));
+        Order order = entityManager.persist(new Order(customer, "ORD-1", new BigDecimal("30.00")));
+        entityManager.persist(new OrderItem(order, book, 3, book.getPrice()));
+        entityManager.flush();
+
+        assertEquals(3, orderRepository.getVendorUnitsSold(vendor.getId()));
+        assertEquals(0, orderRepository.getVendorUnitsSold(vendor.getId() + 1));
+    }
+}
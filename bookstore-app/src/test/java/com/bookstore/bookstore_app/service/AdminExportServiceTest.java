@@ -0,0 +1,108 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.entity.Order;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.OrderRepository;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdminExportServiceTest {
+
+    @InjectMocks
+    private AdminExportService adminExportService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void exportUsers_WritesOneLinePerUser() throws Exception {
+        User first = new User("first@example.com", "secret", "First", "User");
+        first.setId(1L);
+        User second = new User("second@example.com", "secret", "Second", "User");
+        second.setId(2L);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = adminExportService.exportUsers(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals("first@example.com", firstLine.get("email").asText());
+        assertFalse(firstLine.has("password"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportOrders_ClearsContextEveryFlushInterval() throws Exception {
+        int rows = AdminExportService.FLUSH_EVERY * 2 + 1;
+        when(orderRepository.streamAllWithItems()).thenReturn(IntStream.range(0, rows).mapToObj(i -> {
+            Order order = new Order(null, "ORD-" + i, new BigDecimal("10.00"));
+            order.setId((long) i);
+            return order;
+        }));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = adminExportService.exportOrders(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(rows, count);
+        assertEquals("ORD-0", objectMapper.readTree(lines[0]).get("orderNumber").asText());
+        verify(entityManager, times(2)).clear();
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    void exportBooks_DoesNotDetachProjections() throws Exception {
+        AdminBookSummary book = new AdminBookSummary(3L, "Title", "Author", "isbn", null, new BigDecimal("9.99"),
+                BigDecimal.ZERO, null, null, 4, true);
+        when(bookRepository.streamAllAdminSummaries()).thenReturn(Stream.of(book));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = adminExportService.exportBooks(out);
+
+        assertEquals(1, count);
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        verifyNoInteractions(entityManager);
+    }
+}
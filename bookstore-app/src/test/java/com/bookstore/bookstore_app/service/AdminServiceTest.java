@@ -1,5 +1,12 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.config.CacheRegion;
+import com.bookstore.bookstore_app.config.LoggingMonitor;
+import com.bookstore.bookstore_app.config.PinnedThreadMonitor;
+import com.bookstore.bookstore_app.config.RequestMetrics;
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.dto.CacheRegionStats;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.entity.Review;
 import com.bookstore.bookstore_app.entity.Vendor;
@@ -11,6 +18,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +45,27 @@ class AdminServiceTest {
     @Mock
     private VendorRepository vendorRepository;
 
+    @Mock
+    private DashboardMetrics dashboardMetrics;
+
+    @Mock
+    private VendorRollupService vendorRollupService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Mock
+    private RequestMetrics requestMetrics;
+
+    @Mock
+    private LoggingMonitor loggingMonitor;
+
+    @Mock
+    private UserIdentityCache userIdentityCache;
+
     private Book book;
     private Review review;
     private Vendor vendor;
@@ -66,6 +98,7 @@ class AdminServiceTest {
         assertTrue(result.isApproved());
         verify(bookRepository, times(1)).findById(1L);
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(dashboardMetrics, times(1)).bookApprovalChanged(false, true);
     }
 
     @Test
@@ -120,28 +153,28 @@ class AdminServiceTest {
 
     @Test
     void getPendingBooks_Success() {
-        List<Book> expectedBooks = Arrays.asList(book);
-        when(bookRepository.findByIsApprovedFalse()).thenReturn(expectedBooks);
+        List<AdminBookSummary> expectedBooks = Arrays.asList(adminSummary());
+        when(bookRepository.findAdminSummariesByIsApprovedFalse()).thenReturn(expectedBooks);
 
-        List<Book> result = adminService.getPendingBooks();
+        List<AdminBookSummary> result = adminService.getPendingBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(book.getId(), result.get(0).getId());
-        verify(bookRepository, times(1)).findByIsApprovedFalse();
+        verify(bookRepository, times(1)).findAdminSummariesByIsApprovedFalse();
     }
 
     @Test
     void getAllBooks_Success() {
-        List<Book> expectedBooks = Arrays.asList(book);
-        when(bookRepository.findAll()).thenReturn(expectedBooks);
+        List<AdminBookSummary> expectedBooks = Arrays.asList(adminSummary());
+        when(bookRepository.findAllAdminSummaries()).thenReturn(expectedBooks);
 
-        List<Book> result = adminService.getAllBooks();
+        List<AdminBookSummary> result = adminService.getAllBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(book.getId(), result.get(0).getId());
-        verify(bookRepository, times(1)).findAll();
+        verify(bookRepository, times(1)).findAllAdminSummaries();
     }
 
     @Test
@@ -156,4 +189,32 @@ class AdminServiceTest {
         assertEquals(vendor.getId(), result.get(0).getId());
         verify(vendorRepository, times(1)).findAll();
     }
-} 
\ No newline at end of file
+
+    private AdminBookSummary adminSummary() {
+        return new AdminBookSummary(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getDescription(),
+                book.getPrice(), book.getRatingAvg(), book.getImageUrl(), null,
+                book.getStockQuantity(), book.isApproved());
+    }
+
+    @Test
+    void getCacheStats_ReportsHitsMissesAndInvalidations() {
+        CacheRegion books = new CacheRegion(CacheConfig.BOOKS, Caffeine.newBuilder().recordStats().build());
+        when(cacheManager.getCacheNames()).thenReturn(List.of(CacheConfig.BOOKS));
+        when(cacheManager.getCache(CacheConfig.BOOKS)).thenReturn(new TransactionAwareCacheDecorator(books));
+
+        books.put(1L, book);
+        books.get(1L);
+        books.get(2L);
+        books.evict(1L);
+
+        List<CacheRegionStats> stats = adminService.getCacheStats();
+
+        assertEquals(1, stats.size());
+        CacheRegionStats region = stats.get(0);
+        assertEquals(CacheConfig.BOOKS, region.getRegion());
+        assertEquals(1, region.getHits());
+        assertEquals(1, region.getMisses());
+        assertEquals(0.5, region.getHitRate());
+        assertEquals(1, region.getInvalidations());
+    }
+}
@@ -0,0 +1,109 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookDetailLoaderTest {
+
+    @InjectMocks
+    private BookDetailLoader bookDetailLoader = new BookDetailLoader(10000, 100000);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        book = new Book();
+        book.setId(1L);
+        book.setTitle("Featured Book");
+    }
+
+    @Test
+    void load_ConcurrentCallersShareOneQuery() throws Exception {
+        int callers = 16;
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(bookRepository.findWithCategoryById(1L)).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(10, TimeUnit.SECONDS);
+            return Optional.of(book);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<Optional<Book>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> bookDetailLoader.load(1L)));
+        assertTrue(queryStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> bookDetailLoader.load(1L)));
+        }
+        // Let every other caller reach the in-flight future before the query returns
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (bookDetailLoader.coalescedCount() < callers - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        releaseQuery.countDown();
+
+        for (Future<Optional<Book>> result : results) {
+            assertSame(book, result.get(10, TimeUnit.SECONDS).orElseThrow());
+        }
+        executor.shutdown();
+        verify(bookRepository, times(1)).findWithCategoryById(1L);
+        assertEquals(callers - 1, bookDetailLoader.coalescedCount());
+    }
+
+    @Test
+    void load_MissingBookIsNegativelyCached() {
+        when(bookRepository.findWithCategoryById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(bookDetailLoader.load(99L).isEmpty());
+        assertTrue(bookDetailLoader.load(99L).isEmpty());
+
+        verify(bookRepository, times(1)).findWithCategoryById(99L);
+    }
+
+    @Test
+    void bookCreated_ClearsNotFoundEntry() {
+        when(bookRepository.findWithCategoryById(2L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(book));
+        assertTrue(bookDetailLoader.load(2L).isEmpty());
+
+        bookDetailLoader.bookCreated(2L);
+
+        assertTrue(bookDetailLoader.load(2L).isPresent());
+        verify(bookRepository, times(2)).findWithCategoryById(2L);
+    }
+
+    @Test
+    void load_FailureIsNotCached() {
+        when(bookRepository.findWithCategoryById(1L))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(Optional.of(book));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> bookDetailLoader.load(1L));
+
+        assertTrue(bookDetailLoader.load(1L).isPresent());
+    }
+}
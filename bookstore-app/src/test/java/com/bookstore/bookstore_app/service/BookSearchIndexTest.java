@@ -0,0 +1,121 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.BookSearchResult;
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookSearchIndexTest {
+
+    @InjectMocks
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private Book hobbit;
+    private Book silmarillion;
+    private Book javaBook;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        hobbit = book(1L, "The Hobbit", "J.R.R. Tolkien", "978-0-261-10221-7", "A hobbit goes on an adventure");
+        silmarillion = book(2L, "The Silmarillion", "J.R.R. Tolkien", "978-0-261-10273-6", "Myths of Middle-earth");
+        javaBook = book(3L, "Effective Java", "Joshua Bloch", "978-0-13-468599-1", "Best practices for the Java platform");
+
+        when(bookRepository.findAll()).thenReturn(Arrays.asList(hobbit, silmarillion, javaBook));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_IndexesAllBooks() {
+        assertEquals(3, searchIndex.size());
+        verify(bookRepository, times(1)).findAll();
+    }
+
+    @Test
+    void search_ExactTitleTerm() {
+        List<BookSearchResult> results = searchIndex.search("hobbit", 10);
+
+        assertEquals(1, results.size());
+        assertEquals(1L, results.get(0).getId());
+    }
+
+    @Test
+    void search_PrefixMatch() {
+        List<BookSearchResult> results = searchIndex.search("tolk", 10);
+
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    void search_MultiTokenRequiresAllTokens() {
+        List<BookSearchResult> results = searchIndex.search("tolkien silmarillion", 10);
+
+        assertEquals(1, results.size());
+        assertEquals(2L, results.get(0).getId());
+    }
+
+    @Test
+    void search_RanksTitleAboveDescription() {
+        Book javaGuide = book(4L, "Guide to Servers", "Someone", null, "Java for servers");
+        searchIndex.index(javaGuide);
+
+        List<BookSearchResult> results = searchIndex.search("java", 10);
+
+        assertEquals(2, results.size());
+        assertEquals(3L, results.get(0).getId());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    void search_ByIsbnWithOrWithoutHyphens() {
+        assertEquals(3L, searchIndex.search("978-0-13-468599-1", 10).get(0).getId());
+        assertEquals(3L, searchIndex.search("9780134685991", 10).get(0).getId());
+        assertEquals(1, searchIndex.search("97801346", 10).size());
+    }
+
+    @Test
+    void index_ReplacesExistingEntry() {
+        hobbit.setTitle("There and Back Again");
+        searchIndex.index(hobbit);
+
+        assertTrue(searchIndex.search("hobbit", 10).stream().noneMatch(r -> r.getTitle().equals("The Hobbit")));
+        assertEquals(1, searchIndex.search("back again", 10).size());
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    void remove_DropsBookFromResults() {
+        searchIndex.remove(1L);
+
+        assertTrue(searchIndex.search("hobbit", 10).isEmpty());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void search_BlankQueryOrNoMatch() {
+        assertTrue(searchIndex.search("  ", 10).isEmpty());
+        assertTrue(searchIndex.search("dragonlance", 10).isEmpty());
+    }
+
+    private Book book(Long id, String title, String author, String isbn, String description) {
+        Book book = new Book(title, author, isbn, new BigDecimal("19.99"));
+        book.setId(id);
+        book.setDescription(description);
+        return book;
+    }
+}
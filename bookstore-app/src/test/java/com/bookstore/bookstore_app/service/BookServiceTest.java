@@ -1,6 +1,10 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.dto.BookSearchResult;
+import com.bookstore.bookstore_app.dto.BookSummary;
+import com.bookstore.bookstore_app.dto.CursorPage;
 import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.exception.BusinessException;
 import com.bookstore.bookstore_app.repository.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,7 +33,23 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private DashboardMetrics dashboardMetrics;
+
+    @Mock
+    private VendorRollupService vendorRollupService;
+
+    @Mock
+    private RatingAggregator ratingAggregator;
+
+    @Mock
+    private BookDetailLoader bookDetailLoader;
+
     private Book book;
+    private BookSummary summary;
 
     @BeforeEach
     void setUp() {
@@ -45,6 +65,8 @@ class BookServiceTest {
         book.setIsbn("1234567890");
         book.setRatingAvg(new BigDecimal("4.5"));
         book.setTotalRatings(10);
+
+        summary = new BookSummary(book);
     }
 
     @Test
@@ -57,6 +79,7 @@ class BookServiceTest {
         assertEquals(book.getId(), result.getId());
         assertEquals(book.getTitle(), result.getTitle());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookDetailLoader, times(1)).bookCreated(book.getId());
     }
 
     @Test
@@ -76,6 +99,7 @@ class BookServiceTest {
         assertEquals(updatedBook.getAuthor(), result.getAuthor());
         verify(bookRepository, times(1)).findById(1L);
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(dashboardMetrics, times(1)).bookChanged();
     }
 
     @Test
@@ -92,28 +116,30 @@ class BookServiceTest {
 
     @Test
     void deleteBook_Success() {
-        when(bookRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(bookRepository).deleteById(1L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        doNothing().when(bookRepository).delete(book);
 
         assertDoesNotThrow(() -> {
             bookService.deleteBook(1L);
         });
 
-        verify(bookRepository, times(1)).existsById(1L);
-        verify(bookRepository, times(1)).deleteById(1L);
+        verify(bookRepository, times(1)).findById(1L);
+        verify(bookRepository, times(1)).delete(book);
+        verify(dashboardMetrics, times(1)).bookRemoved(book.isApproved());
     }
 
     @Test
     void getAllBooks_Success() {
-        List<Book> expectedBooks = Arrays.asList(book);
-        when(bookRepository.findAll()).thenReturn(expectedBooks);
+        List<BookSummary> expectedBooks = Arrays.asList(summary);
+        when(bookRepository.findAllSummaries()).thenReturn(expectedBooks);
 
-        List<Book> result = bookService.getAllBooks();
+        List<BookSummary> result = bookService.getAllBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(book.getId(), result.get(0).getId());
-        verify(bookRepository, times(1)).findAll();
+        verify(bookRepository, times(1)).findAllSummaries();
+        verify(bookRepository, never()).findAll();
     }
 
     @Test
@@ -128,55 +154,78 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getBookDetails_LoadsThroughDetailLoader() {
+        when(bookDetailLoader.load(1L)).thenReturn(Optional.of(book));
+
+        Book result = bookService.getBookDetails(1L);
+
+        assertEquals(book.getDescription(), result.getDescription());
+        verify(bookDetailLoader, times(1)).load(1L);
+        verify(bookRepository, never()).findById(1L);
+    }
+
+    @Test
+    void getBookDetails_NotFound() {
+        when(bookDetailLoader.load(99L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> bookService.getBookDetails(99L));
+    }
+
     @Test
     void searchByTitle_Success() {
-        List<Book> expectedBooks = Arrays.asList(book);
-        when(bookRepository.findByTitleContainingIgnoreCase("Test")).thenReturn(expectedBooks);
+        List<BookSummary> expectedBooks = Arrays.asList(summary);
+        when(bookRepository.findSummariesByTitle("Test")).thenReturn(expectedBooks);
 
-        List<Book> result = bookService.searchByTitle("Test");
+        List<BookSummary> result = bookService.searchByTitle("Test");
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(book.getTitle(), result.get(0).getTitle());
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("Test");
+        verify(bookRepository, times(1)).findSummariesByTitle("Test");
     }
 
     @Test
     void searchByAuthor_Success() {
-        List<Book> expectedBooks = Arrays.asList(book);
-        when(bookRepository.findByAuthorContainingIgnoreCase("Test")).thenReturn(expectedBooks);
+        List<BookSummary> expectedBooks = Arrays.asList(summary);
+        when(bookRepository.findSummariesByAuthor("Test")).thenReturn(expectedBooks);
 
-        List<Book> result = bookService.searchByAuthor("Test");
+        List<BookSummary> result = bookService.searchByAuthor("Test");
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(book.getAuthor(), result.get(0).getAuthor());
-        verify(bookRepository, times(1)).findByAuthorContainingIgnoreCase("Test");
+        verify(bookRepository, times(1)).findSummariesByAuthor("Test");
     }
 
     @Test
     void getBooksWithPagination_Success() {
-        Page<Book> bookPage = new PageImpl<>(Arrays.asList(book));
-        when(bookRepository.findAll(any(Pageable.class))).thenReturn(bookPage);
+        Page<BookSummary> bookPage = new PageImpl<>(Arrays.asList(summary));
+        when(bookRepository.findSummaries(any(Pageable.class))).thenReturn(bookPage);
 
-        Page<Book> result = bookService.getBooksWithPagination(0, 10);
+        Page<BookSummary> result = bookService.getBooksWithPagination(0, 10);
 
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals(book.getId(), result.getContent().get(0).getId());
-        verify(bookRepository, times(1)).findAll(any(Pageable.class));
+        verify(bookRepository, times(1)).findSummaries(any(Pageable.class));
     }
 
     @Test
     void rateBook_Success() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        assertDoesNotThrow(() -> bookService.rateBook(1L, 5));
+
+        verify(ratingAggregator, times(1)).record(1L, 5);
+        verifyNoInteractions(bookRepository);
+    }
 
-        Book result = bookService.rateBook(1L, 5);
+    @Test
+    void rateBook_UnknownBook() {
+        doThrow(new BusinessException("Book not found with id: 99")).when(ratingAggregator).record(99L, 4);
 
-        assertNotNull(result);
-        verify(bookRepository, times(1)).findById(1L);
-        verify(bookRepository, times(1)).save(any(Book.class));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> bookService.rateBook(99L, 4));
+
+        assertTrue(ex.getMessage().contains("Book not found"));
     }
 
     @Test
@@ -190,4 +239,62 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findById(1L);
         verify(bookRepository, times(1)).save(any(Book.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void searchCatalog_UsesIndex() {
+        BookSearchResult hit = new BookSearchResult(1L, "Test Book", "Test Author", "1234567890",
+                new BigDecimal("19.99"), new BigDecimal("4.5"), null, 3.0);
+        when(bookSearchIndex.search("test", 20)).thenReturn(List.of(hit));
+
+        List<BookSearchResult> result = bookService.searchCatalog("test", 20);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        verify(bookSearchIndex, times(1)).search("test", 20);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void getBooksByCursor_FirstPageHasNext() {
+        Book second = new Book("Second Book", "Test Author", "0987654321", new BigDecimal("29.99"));
+        second.setId(2L);
+        Book third = new Book("Third Book", "Test Author", "1122334455", new BigDecimal("39.99"));
+        third.setId(3L);
+        when(bookRepository.findKeysetSummariesOrderByPriceAsc(PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(summary, new BookSummary(second), new BookSummary(third)));
+
+        CursorPage<BookSummary> result = bookService.getBooksByCursor(BookCursor.Sort.PRICE_ASC, null, 2, false);
+
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(BookCursor.after(BookCursor.Sort.PRICE_ASC, new BookSummary(second)).encode(), result.getNextCursor());
+        assertNull(result.getTotalElements());
+        verify(bookRepository, never()).count();
+    }
+
+    @Test
+    void getBooksByCursor_NextPageSeeksPastCursor() {
+        String cursor = BookCursor.after(BookCursor.Sort.PRICE_ASC, summary).encode();
+        when(bookRepository.findKeysetSummariesAfterPriceAsc(new BigDecimal("19.99"), 1L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(summary));
+        when(bookRepository.count()).thenReturn(5L);
+
+        CursorPage<BookSummary> result = bookService.getBooksByCursor(BookCursor.Sort.PRICE_ASC, cursor, 2, true);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(5L, result.getTotalElements());
+        verify(bookRepository, times(1)).findKeysetSummariesAfterPriceAsc(new BigDecimal("19.99"), 1L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getBooksByCursor_RejectsInvalidOrMismatchedCursor() {
+        String priceCursor = BookCursor.after(BookCursor.Sort.PRICE_ASC, summary).encode();
+
+        assertThrows(BusinessException.class,
+                () -> bookService.getBooksByCursor(BookCursor.Sort.PRICE_ASC, "not-a-cursor", 10, false));
+        assertThrows(BusinessException.class,
+                () -> bookService.getBooksByCursor(BookCursor.Sort.NEWEST, priceCursor, 10, false));
+    }
+}
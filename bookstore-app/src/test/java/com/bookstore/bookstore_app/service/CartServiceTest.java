@@ -1,5 +1,7 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.dto.CartItemDelta;
+import com.bookstore.bookstore_app.dto.CartSnapshot;
 import com.bookstore.bookstore_app.entity.Book;
 import com.bookstore.bookstore_app.entity.CartItem;
 import com.bookstore.bookstore_app.entity.User;
@@ -11,15 +13,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class CartServiceTest {
@@ -36,6 +42,9 @@ class CartServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     private User user;
     private Book book;
     private CartItem cartItem;
@@ -147,14 +156,25 @@ class CartServiceTest {
 
     @Test
     void getCartTotal_Success() {
-        List<CartItem> cartItems = Arrays.asList(cartItem);
-        when(cartItemRepository.findByUserId(1L)).thenReturn(cartItems);
+        when(cartItemRepository.sumCartTotal(1L)).thenReturn(new BigDecimal("39.98"));
 
         BigDecimal total = cartService.getCartTotal(1L);
 
         assertNotNull(total);
         assertEquals(new BigDecimal("39.98"), total);
-        verify(cartItemRepository, times(1)).findByUserId(1L);
+        verify(cartItemRepository, never()).findByUserId(1L);
+    }
+
+    @Test
+    void getCartSnapshot_TotalsTheLoadedLines() {
+        when(cartItemRepository.findWithBooksByUserId(1L)).thenReturn(Arrays.asList(cartItem));
+
+        CartSnapshot snapshot = cartService.getCartSnapshot(1L);
+
+        assertEquals(1, snapshot.getItems().size());
+        assertEquals(new BigDecimal("39.98"), snapshot.getTotal());
+        verify(cartItemRepository, times(1)).findWithBooksByUserId(1L);
+        verify(cartItemRepository, never()).sumCartTotal(any());
     }
 
     @Test
@@ -167,4 +187,79 @@ class CartServiceTest {
 
         verify(cartItemRepository, times(1)).deleteByUserId(1L);
     }
-} 
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyBatch_MergesDeltasAndBatchesWrites() throws Exception {
+        Book second = new Book();
+        second.setId(2L);
+        second.setStockQuantity(5);
+        Book third = new Book();
+        third.setId(3L);
+        third.setStockQuantity(5);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, second, third));
+        // Current cart: book 1 x2 (line 10), book 3 x1 (line 30)
+        givenCartLines(new long[][]{{10L, 1L, 2L}, {30L, 3L, 1L}});
+        when(cartItemRepository.findByUserId(1L)).thenReturn(List.of(cartItem));
+
+        List<CartItem> result = cartService.applyBatch(1L, List.of(
+                new CartItemDelta(1L, 1), new CartItemDelta(2L, 4),
+                new CartItemDelta(1L, 2), new CartItemDelta(3L, -1)));
+
+        assertEquals(1, result.size());
+        ArgumentCaptor<List<CartItem>> inserts = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> deletes = ArgumentCaptor.forClass(List.class);
+        verify(cartItemRepository).saveAll(inserts.capture());
+        verify(jdbcTemplate).batchUpdate(eq(CartService.UPDATE_LINE_SQL), updates.capture());
+        verify(jdbcTemplate).batchUpdate(eq(CartService.DELETE_LINE_SQL), deletes.capture());
+        assertEquals(1, inserts.getValue().size());
+        assertEquals(second, inserts.getValue().get(0).getBook());
+        assertEquals(4, inserts.getValue().get(0).getQuantity());
+        assertArrayEquals(new Object[]{5, 10L}, updates.getValue().get(0));
+        assertArrayEquals(new Object[]{30L}, deletes.getValue().get(0));
+        verify(bookRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void applyBatch_InsufficientStockWritesNothing() throws Exception {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        givenCartLines(new long[][]{{10L, 1L, 8L}});
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> cartService.applyBatch(1L, List.of(new CartItemDelta(1L, 3))));
+
+        assertTrue(exception.getMessage().contains("Insufficient stock"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(cartItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void applyBatch_UnknownBook() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> cartService.applyBatch(1L, List.of(new CartItemDelta(1L, 1), new CartItemDelta(99L, 1))));
+
+        assertEquals("Book not found: [99]", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    // Feeds (line id, book id, quantity) rows to the cart line query
+    private void givenCartLines(long[][] rows) throws Exception {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(row[0]);
+                when(rs.getLong(2)).thenReturn(row[1]);
+                when(rs.getInt(3)).thenReturn((int) row[2]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(CartService.SELECT_LINES_SQL), any(RowCallbackHandler.class), eq(1L));
+    }
+}
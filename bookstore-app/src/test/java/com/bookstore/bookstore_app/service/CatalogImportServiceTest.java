@@ -0,0 +1,222 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.CatalogImportStatus;
+import com.bookstore.bookstore_app.dto.ImportRowError;
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.Category;
+import com.bookstore.bookstore_app.entity.Vendor;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.CategoryRepository;
+import com.bookstore.bookstore_app.repository.VendorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CatalogImportServiceTest {
+
+    @InjectMocks
+    private CatalogImportService catalogImportService = new CatalogImportService(2, 8, 104857600, 3600000);
+
+    @Mock
+    private VendorRepository vendorRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DashboardMetrics dashboardMetrics;
+
+    @Mock
+    private VendorRollupService vendorRollupService;
+
+    @Mock
+    private BookDetailLoader bookDetailLoader;
+
+    private Vendor vendor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(catalogImportService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(catalogImportService, "objectMapper", new ObjectMapper());
+
+        vendor = new Vendor();
+        vendor.setId(7L);
+        vendor.setApproved(true);
+        when(vendorRepository.findByUserId(1L)).thenReturn(Optional.of(vendor));
+        when(vendorRepository.getReferenceById(7L)).thenReturn(vendor);
+
+        AtomicLong ids = new AtomicLong();
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            books.forEach(book -> book.setId(ids.incrementAndGet()));
+            return books;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogImportService.shutdown();
+    }
+
+    @Test
+    void importCsv_ReportsRejectedAndDuplicateRows() throws Exception {
+        Category fiction = new Category();
+        fiction.setId(3L);
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(fiction));
+        when(bookRepository.findExistingIsbns(any())).thenReturn(List.of("978-existing"));
+        String csv = "Title,Author,ISBN,Price,Stock Quantity,Category ID,Description\r\n"
+                + "\"Dune, Deluxe\",Frank Herbert,978-1,19.99,5,3,\"A \"\"classic\"\"\nover two lines\"\r\n"
+                + ",Nobody,978-2,5.00,1,,\r\n"
+                + "Again,Someone,978-1,5.00,1,,\r\n"
+                + "Known,Someone,978-existing,5.00,1,,\r\n"
+                + "Priced,Someone,978-3,abc,1,,\r\n"
+                + "Lost,Someone,978-4,5.00,1,99,\r\n";
+
+        CatalogImportStatus status = awaitFinished(catalogImportService.startImport(1L, "text/csv; charset=UTF-8",
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(CatalogImportStatus.State.COMPLETED, status.getState());
+        assertEquals(6, status.getRowsRead());
+        assertEquals(1, status.getImported());
+        assertEquals(2, status.getDuplicates());
+        assertEquals(3, status.getRejected());
+        assertFalse(status.isErrorsTruncated());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L),
+                status.getErrors().stream().map(ImportRowError::getRow).sorted().collect(Collectors.toList()));
+        assertTrue(status.getErrors().stream().anyMatch(error -> error.getMessage().equals("Title is required")));
+
+        verify(bookRepository).saveAll(argThat(books -> {
+            Book book = ((List<Book>) books).get(0);
+            return book.getTitle().equals("Dune, Deluxe")
+                    && book.getDescription().equals("A \"classic\"\nover two lines")
+                    && book.getCategory() == fiction
+                    && book.getVendor() == vendor
+                    && !book.isApproved();
+        }));
+        verify(dashboardMetrics).booksAdded(1, false);
+        verify(vendorRollupService).booksAdded(7L, 1, false);
+        verify(bookDetailLoader).bookCreated(1L);
+    }
+
+    @Test
+    void importNdjson_InsertsInBatches() throws Exception {
+        when(bookRepository.findExistingIsbns(any())).thenReturn(List.of());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("{\"title\":\"Book ").append(i).append("\",\"author\":\"Author\",\"isbn\":\"isbn-")
+                    .append(i).append("\",\"price\":9.99,\"stockQuantity\":3}\n");
+        }
+        ndjson.append("{not json}\n");
+        ndjson.append("null\n");
+
+        CatalogImportStatus status = awaitFinished(catalogImportService.startImport(1L, "application/x-ndjson",
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(CatalogImportStatus.State.COMPLETED, status.getState());
+        assertEquals(1200, status.getImported());
+        assertEquals(2, status.getRejected());
+        verify(bookRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(3)).commit(any());
+        verify(dashboardMetrics, times(2)).booksAdded(CatalogImportService.BATCH_SIZE, false);
+        verify(dashboardMetrics).booksAdded(200, false);
+        verify(bookRepository, times(3)).findExistingIsbns(any());
+    }
+
+    @Test
+    void importNdjson_IsbnAddedConcurrently_RetriesRowByRow() throws Exception {
+        // The batch lookup sees nothing, but another writer claims isbn-1 before the insert
+        when(bookRepository.findExistingIsbns(any())).thenReturn(List.of()).thenReturn(List.of("isbn-1"));
+        AtomicLong ids = new AtomicLong();
+        when(bookRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            if (books.stream().anyMatch(book -> book.getIsbn().equals("isbn-1"))) {
+                throw new DataIntegrityViolationException("Duplicate entry 'isbn-1'");
+            }
+            books.forEach(book -> book.setId(ids.incrementAndGet()));
+            return books;
+        });
+        String ndjson = "{\"title\":\"One\",\"author\":\"A\",\"isbn\":\"isbn-0\",\"price\":9.99,\"stockQuantity\":3}\n"
+                + "{\"title\":\"Two\",\"author\":\"A\",\"isbn\":\"isbn-1\",\"price\":9.99,\"stockQuantity\":3}\n"
+                + "{\"title\":\"Three\",\"author\":\"A\",\"isbn\":\"isbn-2\",\"price\":9.99,\"stockQuantity\":3}\n";
+
+        CatalogImportStatus status = awaitFinished(catalogImportService.startImport(1L, "application/x-ndjson",
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(CatalogImportStatus.State.COMPLETED, status.getState());
+        assertEquals(2, status.getImported());
+        assertEquals(1, status.getDuplicates());
+        assertEquals(2L, status.getErrors().get(0).getRow());
+        assertEquals("ISBN already in catalog", status.getErrors().get(0).getMessage());
+        verify(bookRepository, times(4)).saveAll(anyList());
+        verify(dashboardMetrics, times(2)).booksAdded(1, false);
+    }
+
+    @Test
+    void startImport_UnapprovedVendor_ThrowsException() {
+        vendor.setApproved(false);
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                catalogImportService.startImport(1L, "text/csv", new ByteArrayInputStream(new byte[0])));
+
+        assertEquals("Vendor account not approved yet", exception.getMessage());
+        verify(bookRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void startImport_UnsupportedContentType_ThrowsException() {
+        assertThrows(BusinessException.class, () ->
+                catalogImportService.startImport(1L, "application/json", new ByteArrayInputStream(new byte[0])));
+    }
+
+    @Test
+    void getStatus_OtherVendorsJob_ThrowsException() throws Exception {
+        CatalogImportStatus started = catalogImportService.startImport(1L, "application/x-ndjson",
+                new ByteArrayInputStream(new byte[0]));
+        awaitFinished(started);
+
+        BusinessException exception = assertThrows(BusinessException.class, () ->
+                catalogImportService.getStatus(2L, started.getJobId()));
+
+        assertEquals("Import job not found", exception.getMessage());
+    }
+
+    private CatalogImportStatus awaitFinished(CatalogImportStatus started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        CatalogImportStatus status = catalogImportService.getStatus(1L, started.getJobId());
+        while (status.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = catalogImportService.getStatus(1L, started.getJobId());
+        }
+        assertNotNull(status.getFinishedAt(), "import did not finish");
+        return status;
+    }
+}
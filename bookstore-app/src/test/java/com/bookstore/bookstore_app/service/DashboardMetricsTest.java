@@ -0,0 +1,137 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.AdminBookSummary;
+import com.bookstore.bookstore_app.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DashboardMetricsTest {
+
+    @InjectMocks
+    private DashboardMetrics dashboardMetrics;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private VendorRepository vendorRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(userRepository.count()).thenReturn(10L);
+        when(bookRepository.countByIsApprovedTrue()).thenReturn(7L);
+        when(bookRepository.countByIsApprovedFalse()).thenReturn(3L);
+        when(vendorRepository.countByIsApprovedTrue()).thenReturn(2L);
+        when(vendorRepository.countByIsApprovedFalse()).thenReturn(1L);
+        when(reviewRepository.countByIsApprovedTrue()).thenReturn(4L);
+        when(reviewRepository.countByIsApprovedFalseAndIsRejectedFalse()).thenReturn(6L);
+        when(orderRepository.count()).thenReturn(5L);
+        when(orderRepository.getTotalRevenue()).thenReturn(new BigDecimal("100.00"));
+        when(bookRepository.findRecentAdminSummaries(any(Pageable.class))).thenReturn(List.of(
+                new AdminBookSummary(1L, "Recent", "Author", "isbn", null, new BigDecimal("9.99"),
+                        BigDecimal.ZERO, null, null, 5, true)));
+    }
+
+    @Test
+    void snapshot_LoadsCountersOnFirstRead() {
+        Map<String, Object> dashboard = dashboardMetrics.snapshot();
+
+        assertEquals(10L, section(dashboard, "users").get("total"));
+        assertEquals(10L, section(dashboard, "books").get("total"));
+        assertEquals(3L, section(dashboard, "vendors").get("total"));
+        assertEquals(new BigDecimal("100.00"), section(dashboard, "orders").get("totalRevenue"));
+        assertEquals(3L, section(dashboard, "pendingApprovals").get("books"));
+        assertEquals(1, ((List<?>) dashboard.get("recentBooks")).size());
+        verify(userRepository, times(1)).count();
+    }
+
+    @Test
+    void snapshot_ServedFromMemoryAfterLoad() {
+        dashboardMetrics.snapshot();
+        dashboardMetrics.snapshot();
+
+        verify(userRepository, times(1)).count();
+        verify(orderRepository, times(1)).getTotalRevenue();
+        verify(bookRepository, times(1)).findRecentAdminSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void writePaths_ApplyDeltas() {
+        dashboardMetrics.reconcile();
+
+        dashboardMetrics.userRegistered();
+        dashboardMetrics.bookAdded(false);
+        dashboardMetrics.bookApprovalChanged(false, true);
+        dashboardMetrics.vendorApprovalChanged(false, true);
+        dashboardMetrics.reviewApprovalChanged(true, true);
+        dashboardMetrics.orderPlaced(new BigDecimal("25.50"));
+
+        Map<String, Object> dashboard = dashboardMetrics.snapshot();
+
+        assertEquals(11L, section(dashboard, "users").get("total"));
+        assertEquals(8L, section(dashboard, "books").get("approved"));
+        assertEquals(3L, section(dashboard, "books").get("pending"));
+        assertEquals(3L, section(dashboard, "vendors").get("approved"));
+        assertEquals(0L, section(dashboard, "vendors").get("pending"));
+        assertEquals(4L, section(dashboard, "reviews").get("approved"));
+        assertEquals(6L, section(dashboard, "orders").get("total"));
+        assertEquals(new BigDecimal("125.50"), section(dashboard, "orders").get("totalRevenue"));
+    }
+
+    @Test
+    void bookWrite_RefreshesRecentBooks() {
+        dashboardMetrics.snapshot();
+        dashboardMetrics.bookRemoved(true);
+        dashboardMetrics.snapshot();
+
+        verify(bookRepository, times(2)).findRecentAdminSummaries(any(Pageable.class));
+    }
+
+    @Test
+    void bookEdit_RefreshesRecentBooksWithoutMovingCounters() {
+        dashboardMetrics.snapshot();
+        dashboardMetrics.bookChanged();
+        Map<String, Object> dashboard = dashboardMetrics.snapshot();
+
+        verify(bookRepository, times(2)).findRecentAdminSummaries(any(Pageable.class));
+        assertEquals(10L, section(dashboard, "books").get("total"));
+    }
+
+    @Test
+    void reconcile_CorrectsDrift() {
+        dashboardMetrics.reconcile();
+        dashboardMetrics.userRegistered();
+
+        dashboardMetrics.reconcile();
+
+        assertEquals(10L, section(dashboardMetrics.snapshot(), "users").get("total"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> section(Map<String, Object> dashboard, String key) {
+        return (Map<String, Object>) dashboard.get(key);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle();
+        ReflectionTestUtils.setField(loginThrottle, "ipBurst", 4);
+        ReflectionTestUtils.setField(loginThrottle, "ipPerMinute", 6);
+        ReflectionTestUtils.setField(loginThrottle, "accountBurst", 2);
+        ReflectionTestUtils.setField(loginThrottle, "accountPerMinute", 1);
+    }
+
+    @Test
+    void acquire_LimitsAttemptsPerAccountAcrossAddresses() {
+        loginThrottle.acquire("10.0.0.1", "reader@example.com");
+        loginThrottle.acquire("10.0.0.2", " Reader@Example.com ");
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.acquire("10.0.0.3", "reader@example.com"));
+        assertTrue(ex.getRetryAfterSeconds() > 0 && ex.getRetryAfterSeconds() <= 60);
+
+        loginThrottle.acquire("10.0.0.3", "other@example.com");
+    }
+
+    @Test
+    void acquire_LimitsAttemptsPerAddressAcrossAccounts() {
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.acquire("10.0.0.9", "user" + i + "@example.com");
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.acquire("10.0.0.9", "fresh@example.com"));
+        assertTrue(ex.getRetryAfterSeconds() <= 10);
+
+        loginThrottle.acquire("10.0.0.10", "fresh@example.com");
+    }
+
+    @Test
+    void acquire_OutsideRequestOnlyChecksAccount() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.acquire("user" + i + "@example.com");
+        }
+    }
+}
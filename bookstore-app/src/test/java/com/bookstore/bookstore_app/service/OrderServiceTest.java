@@ -1,6 +1,9 @@
 package com.bookstore.bookstore_app.service;
 
+import com.bookstore.bookstore_app.dto.CartSnapshot;
+import com.bookstore.bookstore_app.dto.StockLineResult;
 import com.bookstore.bookstore_app.entity.*;
+import com.bookstore.bookstore_app.exception.InsufficientStockException;
 import com.bookstore.bookstore_app.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,7 @@ import org.mockito.MockitoAnnotations;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +38,12 @@ class OrderServiceTest {
     @Mock
     private AddressRepository addressRepository;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private OutboxService outboxService;
+
     private User user;
     private Address address;
     private CartItem cartItem;
@@ -74,8 +84,7 @@ class OrderServiceTest {
     void createOrder_Success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
-        when(cartService.getCartItems(1L)).thenReturn(Arrays.asList(cartItem));
-        when(cartService.getCartTotal(1L)).thenReturn(new BigDecimal("39.98"));
+        when(cartService.getCartSnapshot(1L)).thenReturn(new CartSnapshot(Arrays.asList(cartItem), new BigDecimal("39.98")));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         Order result = orderService.createOrder(1L, 1L);
@@ -85,6 +94,26 @@ class OrderServiceTest {
         assertEquals(order.getOrderNumber(), result.getOrderNumber());
         verify(cartService, times(1)).clearCart(1L);
         verify(orderRepository, times(2)).save(any(Order.class));
+        verify(stockReservationService, times(1)).reserve(Map.of(1L, 2));
+        verify(outboxService, times(1)).publish(OutboxEvent.EventType.ORDER_PLACED, 1L);
+    }
+
+    @Test
+    void createOrder_InsufficientStock() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
+        when(cartService.getCartSnapshot(1L)).thenReturn(new CartSnapshot(Arrays.asList(cartItem), new BigDecimal("39.98")));
+        when(stockReservationService.reserve(Map.of(1L, 2)))
+                .thenThrow(new InsufficientStockException(List.of(new StockLineResult(1L, 2, false))));
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class, () -> {
+            orderService.createOrder(1L, 1L);
+        });
+
+        assertEquals(1L, ex.getFailedLines().get(0).getBookId());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(cartService, never()).clearCart(1L);
+        verify(outboxService, never()).publish(any(), any());
     }
 
     @Test
@@ -114,7 +143,7 @@ class OrderServiceTest {
     void createOrder_EmptyCart() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
-        when(cartService.getCartItems(1L)).thenReturn(Arrays.asList());
+        when(cartService.getCartSnapshot(1L)).thenReturn(new CartSnapshot(Arrays.asList(), BigDecimal.ZERO));
 
         assertThrows(RuntimeException.class, () -> {
             orderService.createOrder(1L, 1L);
@@ -126,14 +155,14 @@ class OrderServiceTest {
     @Test
     void getUserOrders_Success() {
         List<Order> expectedOrders = Arrays.asList(order);
-        when(orderRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(expectedOrders);
+        when(orderRepository.findWithItemsByUserId(1L)).thenReturn(expectedOrders);
 
         List<Order> result = orderService.getUserOrders(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(order.getId(), result.get(0).getId());
-        verify(orderRepository, times(1)).findByUserIdOrderByCreatedAtDesc(1L);
+        verify(orderRepository, times(1)).findWithItemsByUserId(1L);
     }
 
     @Test
@@ -170,5 +199,7 @@ class OrderServiceTest {
         assertEquals(Order.OrderStatus.SHIPPED, result.getStatus());
         verify(orderRepository, times(1)).findById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(stockReservationService, times(1))
+                .onStatusChange(order, Order.OrderStatus.PENDING, Order.OrderStatus.SHIPPED);
     }
 } 
\ No newline at end of file
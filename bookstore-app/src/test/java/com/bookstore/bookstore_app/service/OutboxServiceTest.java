@@ -0,0 +1,126 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.OutboxEvent;
+import com.bookstore.bookstore_app.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    private OutboxService outboxService;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OrderEventHandler orderEventHandler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxEvent event;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxService = newOutboxService(256, 10);
+
+        event = new OutboxEvent(OutboxEvent.EventType.ORDER_PLACED, 42L);
+        event.setId(1L);
+        when(outboxEventRepository.findById(1L)).thenReturn(Optional.of(event));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        outboxService.shutdown();
+    }
+
+    @Test
+    void deliver_MarksProcessedAndRunsHandler() {
+        when(outboxEventRepository.markProcessed(eq(1L), eq(OutboxEvent.Status.PENDING),
+                eq(OutboxEvent.Status.PROCESSED), any())).thenReturn(1);
+
+        outboxService.deliver(1L);
+
+        verify(orderEventHandler, times(1)).handle(event);
+        verify(transactionManager, times(1)).commit(any());
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    void deliver_AlreadyDelivered_SkipsHandler() {
+        when(outboxEventRepository.markProcessed(eq(1L), any(), any(), any())).thenReturn(0);
+
+        outboxService.deliver(1L);
+
+        verify(orderEventHandler, never()).handle(any());
+    }
+
+    @Test
+    void deliver_HandlerFails_SchedulesRetryWithBackoff() {
+        when(outboxEventRepository.markProcessed(eq(1L), any(), any(), any())).thenReturn(1);
+        doThrow(new RuntimeException("Lock wait timeout")).when(orderEventHandler).handle(event);
+        event.setAttempts(2);
+        LocalDateTime before = LocalDateTime.now();
+
+        outboxService.deliver(1L);
+
+        verify(transactionManager, times(1)).rollback(any());
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals(OutboxEvent.Status.PENDING, saved.getValue().getStatus());
+        assertEquals(3, saved.getValue().getAttempts());
+        assertEquals("Lock wait timeout", saved.getValue().getLastError());
+        // Third attempt waits 1s << 2
+        assertFalse(saved.getValue().getNextAttemptAt().isBefore(before.plusSeconds(4)));
+    }
+
+    @Test
+    void deliver_LastAttemptFails_MarksFailed() {
+        outboxService = newOutboxService(256, 3);
+        when(outboxEventRepository.markProcessed(eq(1L), any(), any(), any())).thenReturn(1);
+        doThrow(new RuntimeException("Vendor gone")).when(orderEventHandler).handle(event);
+        event.setAttempts(2);
+
+        outboxService.deliver(1L);
+
+        assertEquals(OutboxEvent.Status.FAILED, event.getStatus());
+        verify(outboxEventRepository).save(event);
+    }
+
+    @Test
+    void poll_ClaimsNoMoreThanQueueHasRoomFor() {
+        outboxService = newOutboxService(4, 10);
+        when(outboxEventRepository.findDueIds(eq(OutboxEvent.Status.PENDING), any(), any())).thenReturn(List.of(1L, 2L));
+
+        outboxService.poll();
+
+        verify(outboxEventRepository).findDueIds(eq(OutboxEvent.Status.PENDING), any(), eq(PageRequest.of(0, 4)));
+        verify(outboxEventRepository, timeout(5000)).markProcessed(eq(1L), any(), any(), any());
+        verify(outboxEventRepository, timeout(5000)).markProcessed(eq(2L), any(), any(), any());
+    }
+
+    private OutboxService newOutboxService(int queueCapacity, int maxAttempts) {
+        OutboxService service = new OutboxService(2, queueCapacity, maxAttempts, 1000, 300000, 86400000);
+        ReflectionTestUtils.setField(service, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(service, "orderEventHandler", orderEventHandler);
+        ReflectionTestUtils.setField(service, "transactionManager", transactionManager);
+        return service;
+    }
+}
@@ -0,0 +1,81 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHasherTest {
+
+    @InjectMocks
+    private PasswordHasher passwordHasher = new PasswordHasher(1, 1, 5000);
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void matches_RunsOnHashingPool() {
+        when(passwordEncoder.matches("secret", "hash")).thenAnswer(invocation ->
+                Thread.currentThread().getName().startsWith("password-hash-"));
+
+        assertTrue(passwordHasher.matches("secret", "hash"));
+    }
+
+    @Test
+    void matches_ShedsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.matches("slow", "hash")).thenAnswer(invocation -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHasher.matches("slow", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHasher.matches("slow", "hash"));
+        while (((ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHasher, "workers"))
+                .getQueue().isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> passwordHasher.matches("slow", "hash"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void upgradedHash_OnlyRehashesWeakerHashes() {
+        when(passwordEncoder.upgradeEncoding("current")).thenReturn(false);
+        when(passwordEncoder.upgradeEncoding("weak")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("stronger");
+
+        assertNull(passwordHasher.upgradedHash("secret", "current"));
+        assertEquals("stronger", passwordHasher.upgradedHash("secret", "weak"));
+        verify(passwordEncoder, times(1)).encode("secret");
+    }
+}
@@ -0,0 +1,175 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RatingAggregatorTest {
+
+    @InjectMocks
+    private RatingAggregator ratingAggregator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private BookDetailLoader bookDetailLoader;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(jdbcTemplate.batchUpdate(eq(RatingAggregator.FLUSH_SQL), anyList()))
+                .thenAnswer(invocation -> {
+                    int[] updated = new int[((List<?>) invocation.getArgument(1)).size()];
+                    Arrays.fill(updated, 1);
+                    return updated;
+                });
+    }
+
+    @Test
+    void record_RejectsOutOfRangeRating() {
+        assertThrows(BusinessException.class, () -> ratingAggregator.record(1L, 0));
+        assertThrows(BusinessException.class, () -> ratingAggregator.record(1L, 6));
+        assertEquals(0, ratingAggregator.pendingCount(1L));
+    }
+
+    @Test
+    void record_RejectsKnownMissingBook() {
+        when(bookDetailLoader.isKnownMissing(99L)).thenReturn(true);
+
+        assertThrows(BusinessException.class, () -> ratingAggregator.record(99L, 5));
+        assertEquals(0, ratingAggregator.pendingCount(99L));
+    }
+
+    @Test
+    void flush_DropsRatingsForMissingBookAndRemembersIt() {
+        when(jdbcTemplate.batchUpdate(eq(RatingAggregator.FLUSH_SQL), anyList())).thenReturn(new int[]{0});
+        ratingAggregator.record(99L, 5);
+
+        ratingAggregator.flush();
+
+        assertEquals(0, ratingAggregator.pendingBooks());
+        verify(bookDetailLoader).bookMissing(99L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_SendsOneRelativeUpdatePerBook() {
+        when(jdbcTemplate.batchUpdate(eq(RatingAggregator.FLUSH_SQL), anyList())).thenReturn(new int[]{1, 1});
+        ratingAggregator.record(1L, 5);
+        ratingAggregator.record(1L, 3);
+        ratingAggregator.record(2L, 4);
+
+        ratingAggregator.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(RatingAggregator.FLUSH_SQL), batch.capture());
+        List<Object[]> rows = batch.getValue();
+        rows.sort(Comparator.comparing(row -> (Long) row[4]));
+        assertArrayEquals(new Object[]{8L, 2L, 8L, 2L, 1L}, rows.get(0));
+        assertArrayEquals(new Object[]{4L, 1L, 4L, 1L, 2L}, rows.get(1));
+        assertEquals(0, ratingAggregator.pendingCount(1L));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_DropsDrainedBooksAndKeepsLaterRatings() {
+        ratingAggregator.record(1L, 5);
+        ratingAggregator.flush();
+        assertEquals(1, ratingAggregator.pendingBooks());
+
+        // Nothing new since the last flush: the book leaves the map
+        ratingAggregator.flush();
+        assertEquals(0, ratingAggregator.pendingBooks());
+
+        ratingAggregator.record(1L, 2);
+        ratingAggregator.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(RatingAggregator.FLUSH_SQL), batch.capture());
+        assertArrayEquals(new Object[]{2L, 1L, 2L, 1L, 1L}, batch.getAllValues().get(1).get(0));
+    }
+
+    @Test
+    void flush_NothingPendingSkipsDatabase() {
+        ratingAggregator.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_FailureKeepsRatingsForRetry() {
+        when(jdbcTemplate.batchUpdate(eq(RatingAggregator.FLUSH_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        ratingAggregator.record(1L, 4);
+        ratingAggregator.record(1L, 2);
+
+        ratingAggregator.flush();
+
+        assertEquals(2, ratingAggregator.pendingCount(1L));
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_ConcurrentRatingsAreNotLost() throws Exception {
+        int threads = 8;
+        int ratingsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ratingsPerThread; i++) {
+                    ratingAggregator.record(1L, 1 + i % 5);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        ratingAggregator.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RatingAggregator.FLUSH_SQL), batch.capture());
+        Object[] row = batch.getValue().get(0);
+        assertEquals((long) threads * ratingsPerThread * 3, row[0]);
+        assertEquals((long) threads * ratingsPerThread, row[1]);
+    }
+}
@@ -0,0 +1,102 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RegisteredEmailFilterTest {
+
+    @InjectMocks
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dir;
+
+    private Path snapshot;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        snapshot = dir.resolve("emails.bloom");
+        ReflectionTestUtils.setField(registeredEmailFilter, "initialCapacity", 100);
+        ReflectionTestUtils.setField(registeredEmailFilter, "snapshotPath", snapshot.toString());
+    }
+
+    @Test
+    void mightBeRegistered_AnswersMaybeUntilLoaded() {
+        assertTrue(registeredEmailFilter.mightBeRegistered("new@example.com"));
+    }
+
+    @Test
+    void load_ScansUsersAndTracksNewRegistrations() {
+        when(userRepository.findMaxId()).thenReturn(2L);
+        when(userRepository.streamEmailsBetween(0L, 2L)).thenReturn(Stream.of("Ada@Example.com", "bob@example.com"));
+
+        registeredEmailFilter.load();
+        registeredEmailFilter.add(3L, "carol@example.com");
+
+        assertTrue(registeredEmailFilter.mightBeRegistered(" ada@example.com"));
+        assertTrue(registeredEmailFilter.mightBeRegistered("carol@example.com"));
+        assertFalse(registeredEmailFilter.mightBeRegistered("dave@example.com"));
+    }
+
+    @Test
+    void load_RestoresSnapshotAndOnlyScansNewerUsers() {
+        when(userRepository.findMaxId()).thenReturn(2L);
+        when(userRepository.streamEmailsBetween(0L, 2L)).thenReturn(Stream.of("ada@example.com", "bob@example.com"));
+        registeredEmailFilter.load();
+        registeredEmailFilter.shutdown();
+        assertTrue(Files.isRegularFile(snapshot));
+
+        RegisteredEmailFilter restarted = new RegisteredEmailFilter();
+        ReflectionTestUtils.setField(restarted, "userRepository", userRepository);
+        ReflectionTestUtils.setField(restarted, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(restarted, "snapshotPath", snapshot.toString());
+        when(userRepository.findMaxId()).thenReturn(3L);
+        when(userRepository.streamEmailsBetween(2L, 3L)).thenReturn(Stream.of("carol@example.com"));
+
+        restarted.load();
+
+        assertTrue(restarted.mightBeRegistered("ada@example.com"));
+        assertTrue(restarted.mightBeRegistered("carol@example.com"));
+        verify(userRepository, times(1)).streamEmailsBetween(0L, 2L);
+    }
+
+    @Test
+    void load_IgnoresSnapshotAheadOfTable() {
+        when(userRepository.findMaxId()).thenReturn(5L);
+        when(userRepository.streamEmailsBetween(0L, 5L)).thenReturn(Stream.of("ada@example.com"));
+        registeredEmailFilter.load();
+        registeredEmailFilter.shutdown();
+
+        // The database was replaced by one with fewer users
+        when(userRepository.findMaxId()).thenReturn(1L);
+        when(userRepository.streamEmailsBetween(0L, 1L)).thenReturn(Stream.of("zed@example.com"));
+        registeredEmailFilter.load();
+
+        assertTrue(registeredEmailFilter.mightBeRegistered("zed@example.com"));
+        assertFalse(registeredEmailFilter.mightBeRegistered("ada@example.com"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.dto.CursorPage;
+import com.bookstore.bookstore_app.dto.ReviewSummary;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import com.bookstore.bookstore_app.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReviewServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @InjectMocks
+    private ReviewService reviewService;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private DashboardMetrics dashboardMetrics;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getApprovedReviews_ReturnsCursorForTheLastRowWhenMoreExist() {
+        when(reviewRepository.findApprovedByBookId(eq(7L), any(Pageable.class)))
+                .thenReturn(List.of(summary(3L, BASE.plusMinutes(2)), summary(2L, BASE.plusMinutes(1)), summary(1L, BASE)));
+
+        CursorPage<ReviewSummary> page = reviewService.getApprovedReviews(7L, null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        ReviewCursor cursor = ReviewCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getLastId());
+        assertEquals(BASE.plusMinutes(1), cursor.getCreatedAt());
+
+        when(reviewRepository.findNextApprovedByBookId(eq(7L), eq(BASE.plusMinutes(1)), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(summary(1L, BASE)));
+
+        CursorPage<ReviewSummary> last = reviewService.getApprovedReviews(7L, page.getNextCursor(), 2);
+
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void getApprovedReviews_RejectsTamperedCursor() {
+        assertThrows(BusinessException.class, () -> reviewService.getApprovedReviews(7L, "not-a-cursor", 10));
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void claimPendingReviews_ReturnsOnlyTheReviewsWon() {
+        List<Long> candidates = List.of(1L, 2L);
+        when(reviewRepository.findClaimableIds(any(LocalDateTime.class), any(Pageable.class))).thenReturn(candidates);
+        when(reviewRepository.claim(eq(candidates), eq(9L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(reviewRepository.findClaimedBy(eq(candidates), eq(9L), any(LocalDateTime.class)))
+                .thenReturn(List.of(summary(2L, BASE)));
+
+        List<ReviewSummary> claimed = reviewService.claimPendingReviews(9L, 2);
+
+        assertEquals(1, claimed.size());
+        assertEquals(2L, claimed.get(0).getId());
+    }
+
+    @Test
+    void moderateReviews_UpdatesCountersByRowsChanged() {
+        when(reviewRepository.moderateClaimed(anyCollection(), eq(9L), eq(true), eq(false))).thenReturn(2);
+
+        int moderated = reviewService.moderateReviews(9L, List.of(1L, 2L, 2L, 3L), true);
+
+        assertEquals(2, moderated);
+        verify(reviewRepository).moderateClaimed(argThat((Collection<Long> ids) -> ids.size() == 3), eq(9L), eq(true), eq(false));
+        verify(dashboardMetrics).reviewsModerated(2, true);
+    }
+
+    @Test
+    void moderateReviews_RejectsOversizedBatch() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toList());
+
+        assertThrows(BusinessException.class, () -> reviewService.moderateReviews(9L, ids, false));
+        verifyNoInteractions(reviewRepository);
+    }
+
+    private static ReviewSummary summary(Long id, LocalDateTime createdAt) {
+        return new ReviewSummary(id, 7L, 5L, 4, "Worth reading", createdAt);
+    }
+}
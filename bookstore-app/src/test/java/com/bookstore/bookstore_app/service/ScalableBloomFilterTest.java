@@ -0,0 +1,54 @@
+package com.bookstore.bookstore_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void add_GrowsWithoutFalseNegativesAndKeepsFalsePositivesBounded() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        assertTrue(filter.sliceCount() > 1);
+        // Keys that already looked present when added are not counted again
+        assertTrue(filter.count() > 9_800 && filter.count() <= 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("someone" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void writeTo_RoundTripsThroughReadFrom() throws Exception {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        for (int i = 0; i < 500; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+
+        ScalableBloomFilter restored = ScalableBloomFilter.readFrom(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(filter.sliceCount(), restored.sliceCount());
+        assertEquals(filter.count(), restored.count());
+        for (int i = 0; i < 500; i++) {
+            assertTrue(restored.mightContain("user" + i + "@example.com"));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.dto.StockLineResult;
+import com.bookstore.bookstore_app.entity.Book;
+import com.bookstore.bookstore_app.entity.Order;
+import com.bookstore.bookstore_app.entity.OrderItem;
+import com.bookstore.bookstore_app.exception.InsufficientStockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockReservationServiceTest {
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reserve_BatchesLinesInBookIdOrder() {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(9L, 1);
+        quantities.put(2L, 3);
+        quantities.put(5L, 2);
+        when(jdbcTemplate.batchUpdate(eq(StockReservationService.RESERVE_SQL), anyList()))
+                .thenReturn(new int[]{1, 1, 1});
+
+        List<StockLineResult> results = stockReservationService.reserve(quantities);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(StockReservationService.RESERVE_SQL), batch.capture());
+        assertArrayEquals(new Object[]{3, 2L, 3}, batch.getValue().get(0));
+        assertArrayEquals(new Object[]{2, 5L, 2}, batch.getValue().get(1));
+        assertArrayEquals(new Object[]{1, 9L, 1}, batch.getValue().get(2));
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(StockLineResult::isReserved));
+    }
+
+    @Test
+    void reserve_ReportsEachShortLine() {
+        when(jdbcTemplate.batchUpdate(eq(StockReservationService.RESERVE_SQL), anyList()))
+                .thenReturn(new int[]{1, 0, 0});
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class,
+                () -> stockReservationService.reserve(Map.of(1L, 1, 2L, 4, 3L, 2)));
+
+        assertEquals(3, ex.getLines().size());
+        assertEquals(2, ex.getFailedLines().size());
+        assertEquals(2L, ex.getFailedLines().get(0).getBookId());
+        assertEquals(3L, ex.getFailedLines().get(1).getBookId());
+        assertTrue(ex.getMessage().contains("2 (requested 4)"));
+    }
+
+    @Test
+    void onStatusChange_ReleasesOnlyWhenCancelling() {
+        Order order = orderWithItems();
+
+        stockReservationService.onStatusChange(order, Order.OrderStatus.PENDING, Order.OrderStatus.SHIPPED);
+        verifyNoInteractions(jdbcTemplate);
+
+        stockReservationService.onStatusChange(order, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(StockReservationService.RELEASE_SQL), anyList());
+    }
+
+    @Test
+    void onStatusChange_ReservesAgainWhenReopened() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        stockReservationService.onStatusChange(orderWithItems(), Order.OrderStatus.CANCELLED, Order.OrderStatus.PENDING);
+
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(StockReservationService.RESERVE_SQL), anyList());
+    }
+
+    private Order orderWithItems() {
+        Book book = new Book("Title", "Author", "isbn", new BigDecimal("10.00"));
+        book.setId(4L);
+        Order order = new Order(null, "ORD-1", new BigDecimal("20.00"));
+        order.setOrderItems(List.of(new OrderItem(order, book, 2, book.getPrice())));
+        return order;
+    }
+
+    @Test
+    void reserve_EvictsCachedBookDetails() {
+        Cache books = mock(Cache.class);
+        when(cacheManager.getCache(CacheConfig.BOOKS)).thenReturn(books);
+        when(jdbcTemplate.batchUpdate(eq(StockReservationService.RESERVE_SQL), anyList()))
+                .thenReturn(new int[]{1, 1});
+
+        stockReservationService.reserve(Map.of(3L, 1, 7L, 2));
+
+        verify(books).evict(3L);
+        verify(books).evict(7L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.config.CacheConfig;
+import com.bookstore.bookstore_app.dto.UserIdentity;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserIdentityCacheTest {
+
+    @InjectMocks
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        String spec = "maximumSize=100";
+        SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(spec, spec, spec, spec);
+        cacheManager.afterPropertiesSet();
+        ReflectionTestUtils.setField(userIdentityCache, "cacheManager", cacheManager);
+
+        user = new User("reader@example.com", "$2a$10$hash", "Ada", "Reader");
+        user.setId(7L);
+        user.setRole(User.Role.VENDOR);
+        when(userRepository.findByEmail("reader@example.com")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void findByEmail_LoadsOnceForNormalizedEmail() {
+        UserIdentity first = userIdentityCache.findByEmail("reader@example.com").orElseThrow();
+        UserIdentity again = userIdentityCache.findByEmail(" Reader@Example.COM ").orElseThrow();
+
+        assertSame(first, again);
+        assertEquals(7L, first.getId());
+        assertEquals(User.Role.VENDOR, first.getRole());
+        assertEquals("$2a$10$hash", first.getPasswordHash());
+        verify(userRepository, times(1)).findByEmail("reader@example.com");
+    }
+
+    @Test
+    void findByEmail_DoesNotCacheUnknownEmails() {
+        when(userRepository.findByEmail("new@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(userIdentityCache.findByEmail("new@example.com").isEmpty());
+        assertTrue(userIdentityCache.findByEmail("new@example.com").isEmpty());
+
+        verify(userRepository, times(2)).findByEmail("new@example.com");
+    }
+
+    @Test
+    void evict_DropsSnapshot() {
+        userIdentityCache.findByEmail("reader@example.com");
+        user.setVerified(true);
+
+        userIdentityCache.evict(user);
+
+        assertTrue(userIdentityCache.findByEmail("reader@example.com").orElseThrow().isVerified());
+        verify(userRepository, times(2)).findByEmail("reader@example.com");
+    }
+}
@@ -1,3 +1,81 @@
 package com.bookstore.bookstore_app.service;
 
-public class UserServiceTest {} 
\ No newline at end of file
+import com.bookstore.bookstore_app.dto.RegisterRequest;
+import com.bookstore.bookstore_app.dto.UserIdentity;
+import com.bookstore.bookstore_app.entity.User;
+import com.bookstore.bookstore_app.exception.BusinessException;
+import com.bookstore.bookstore_app.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserServiceTest {
+
+    @InjectMocks
+    private UserService userService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserIdentityCache userIdentityCache;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private DashboardMetrics dashboardMetrics;
+
+    private RegisterRequest request;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        request = new RegisterRequest();
+        request.setEmail("reader@example.com");
+        request.setPassword("secret123");
+        request.setFirstName("Ada");
+        request.setLastName("Reader");
+        when(passwordEncoder.encode("secret123")).thenReturn("$2a$10$hash");
+        when(registeredEmailFilter.mightBeRegistered("reader@example.com")).thenReturn(false);
+    }
+
+    @Test
+    void register_LostEmailRaceIsDuplicate() {
+        User winner = new User("reader@example.com", "$2a$10$other", "Ada", "Winner");
+        winner.setId(7L);
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(userIdentityCache.findByEmail("reader@example.com")).thenReturn(Optional.of(UserIdentity.of(winner)));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> userService.register(request));
+
+        assertEquals("Email already exists", ex.getMessage());
+        verify(dashboardMetrics, never()).userRegistered();
+    }
+
+    @Test
+    void register_OtherConstraintViolationIsNotDuplicate() {
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("Data too long for column 'phone'"));
+        when(userIdentityCache.findByEmail("reader@example.com")).thenReturn(Optional.empty());
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> userService.register(request));
+
+        assertFalse(ex instanceof BusinessException);
+        assertNotEquals("Email already exists", ex.getMessage());
+        verify(registeredEmailFilter, never()).add(any(), any());
+    }
+}
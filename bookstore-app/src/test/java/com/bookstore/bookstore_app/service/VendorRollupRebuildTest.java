@@ -0,0 +1,96 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.*;
+import com.bookstore.bookstore_app.repository.OutboxEventRepository;
+import com.bookstore.bookstore_app.repository.VendorSalesRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rebuilds a vendor's rollup after an order has committed but before its ORDER_PLACED event is
+ * delivered, then delivers the event, and checks the order is counted exactly once. Runs without
+ * the test transaction so the rebuild and the delivery see committed data, as they do in production.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({VendorRollupService.class, OrderEventHandler.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VendorRollupRebuildTest {
+
+    @Autowired
+    private VendorRollupService vendorRollupService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private VendorSalesRollupRepository rollupRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @MockBean
+    private DashboardMetrics dashboardMetrics;
+
+    // Committed book saves notify the search index listener
+    @MockBean
+    private BookSearchIndex bookSearchIndex;
+
+    @Test
+    void rebuildBeforeDelivery_CountsOrderOnce() {
+        // What createOrder commits: the order and its pending ORDER_PLACED event, for a vendor with no rollup yet
+        Long[] ids = new TransactionTemplate(transactionManager).execute(status -> {
+            User owner = new User("vendor@example.com", "secret", "Ven", "Dor");
+            entityManager.persist(owner);
+            Vendor vendor = new Vendor(owner, "Vendor Books");
+            entityManager.persist(vendor);
+            Book book = new Book("Book", "Author", "isbn-1", new BigDecimal("10.00"));
+            book.setVendor(vendor);
+            entityManager.persist(book);
+            User customer = new User("reader@example.com", "secret", "Read", "Er");
+            entityManager.persist(customer);
+            Order order = new Order(customer, "ORD-1", new BigDecimal("30.00"));
+            entityManager.persist(order);
+            entityManager.persist(new OrderItem(order, book, 3, book.getPrice()));
+            OutboxEvent event = outboxEventRepository.save(new OutboxEvent(OutboxEvent.EventType.ORDER_PLACED, order.getId()));
+            return new Long[]{vendor.getId(), event.getId()};
+        });
+        Long vendorId = ids[0];
+        Long eventId = ids[1];
+
+        VendorSalesRollup rebuilt = vendorRollupService.rebuild(vendorId);
+        assertEquals(0, rebuilt.getOrderCount());
+
+        outboxService.deliver(eventId);
+
+        VendorSalesRollup rollup = rollupRepository.findById(vendorId).orElseThrow();
+        assertEquals(1, rollup.getOrderCount());
+        assertEquals(3, rollup.getUnitsSold());
+        assertEquals(0, new BigDecimal("30.00").compareTo(rollup.getTotalRevenue()));
+        assertEquals(OutboxEvent.Status.PROCESSED, outboxEventRepository.findById(eventId).orElseThrow().getStatus());
+
+        // Once delivered, the order is part of history and a later rebuild arrives at the same totals
+        rebuilt = vendorRollupService.rebuild(vendorId);
+        assertEquals(1, rebuilt.getOrderCount());
+        assertEquals(3, rebuilt.getUnitsSold());
+        assertEquals(0, new BigDecimal("30.00").compareTo(rebuilt.getTotalRevenue()));
+    }
+}
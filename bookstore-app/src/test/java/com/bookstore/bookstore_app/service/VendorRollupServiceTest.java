@@ -0,0 +1,143 @@
+package com.bookstore.bookstore_app.service;
+
+import com.bookstore.bookstore_app.entity.*;
+import com.bookstore.bookstore_app.repository.BookRepository;
+import com.bookstore.bookstore_app.repository.OrderRepository;
+import com.bookstore.bookstore_app.repository.VendorSalesRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VendorRollupServiceTest {
+
+    @InjectMocks
+    private VendorRollupService vendorRollupService;
+
+    @Mock
+    private VendorSalesRollupRepository rollupRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Vendor vendor;
+    private Vendor otherVendor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        vendor = new Vendor();
+        vendor.setId(1L);
+        otherVendor = new Vendor();
+        otherVendor.setId(2L);
+    }
+
+    @Test
+    void recordOrder_GroupsItemsByVendor() {
+        Order order = new Order(new User(), "ORD-1", new BigDecimal("55.00"));
+        order.setOrderItems(Arrays.asList(
+                new OrderItem(order, book(vendor), 2, new BigDecimal("10.00")),
+                new OrderItem(order, book(vendor), 1, new BigDecimal("15.00")),
+                new OrderItem(order, book(otherVendor), 1, new BigDecimal("20.00")),
+                new OrderItem(order, book(null), 1, new BigDecimal("5.00"))));
+
+        vendorRollupService.recordOrder(order);
+
+        verify(rollupRepository).addSale(1L, new BigDecimal("35.00"), 3L);
+        verify(rollupRepository).addSale(2L, new BigDecimal("20.00"), 1L);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void bookApprovalChanged_MovesBetweenCounts() {
+        vendorRollupService.bookApprovalChanged(1L, false, true);
+        vendorRollupService.bookApprovalChanged(1L, true, true);
+        vendorRollupService.bookApprovalChanged(null, false, true);
+
+        verify(rollupRepository, times(1)).addBooks(1L, 1, -1);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void getRollup_BuildsMissingRowFromHistory() {
+        when(rollupRepository.findById(1L)).thenReturn(Optional.empty());
+        when(rollupRepository.lockByVendorId(1L)).thenReturn(Optional.empty(), Optional.of(new VendorSalesRollup(1L)));
+        when(orderRepository.getVendorRevenue(1L)).thenReturn(new BigDecimal("99.00"));
+        when(orderRepository.countOrdersByVendorId(1L)).thenReturn(4L);
+        when(orderRepository.getVendorUnitsSold(1L)).thenReturn(9L);
+        when(bookRepository.countByVendorIdAndIsApprovedTrue(1L)).thenReturn(3L);
+        when(bookRepository.countByVendorIdAndIsApprovedFalse(1L)).thenReturn(2L);
+        when(rollupRepository.save(any(VendorSalesRollup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        VendorSalesRollup rollup = vendorRollupService.getRollup(1L);
+
+        assertEquals(new BigDecimal("99.00"), rollup.getTotalRevenue());
+        assertEquals(4, rollup.getOrderCount());
+        assertEquals(9, rollup.getUnitsSold());
+        assertEquals(5, rollup.getTotalBooks());
+        verify(rollupRepository, times(1)).save(any(VendorSalesRollup.class));
+        // The row is inserted and locked before history is read
+        verify(rollupRepository).insertEmpty(1L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void rebuild_ExistingRowIsLockedAndOverwrittenFromHistory() {
+        VendorSalesRollup existing = new VendorSalesRollup(1L);
+        existing.setOrderCount(1);
+        when(rollupRepository.lockByVendorId(1L)).thenReturn(Optional.of(existing));
+        when(orderRepository.countOrdersByVendorId(1L)).thenReturn(6L);
+        when(rollupRepository.save(any(VendorSalesRollup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        VendorSalesRollup rollup = vendorRollupService.rebuild(1L);
+
+        assertSame(existing, rollup);
+        assertEquals(6, rollup.getOrderCount());
+        verify(rollupRepository, never()).insertEmpty(anyLong());
+    }
+
+    @Test
+    void backfillMissingRollups_RebuildsEachMissingVendorAndKeepsGoing() {
+        when(rollupRepository.findVendorIdsWithoutRollup()).thenReturn(List.of(1L, 2L));
+        when(rollupRepository.lockByVendorId(1L)).thenThrow(new IllegalStateException("lock wait timeout"));
+        when(rollupRepository.lockByVendorId(2L)).thenReturn(Optional.of(new VendorSalesRollup(2L)));
+        when(rollupRepository.save(any(VendorSalesRollup.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        vendorRollupService.backfillMissingRollups();
+
+        verify(rollupRepository).save(argThat(rollup -> rollup.getVendorId().equals(2L)));
+    }
+
+    @Test
+    void getRollup_ExistingRowSkipsHistoryQueries() {
+        VendorSalesRollup existing = new VendorSalesRollup(1L);
+        when(rollupRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        assertSame(existing, vendorRollupService.getRollup(1L));
+        verifyNoInteractions(orderRepository, bookRepository);
+    }
+
+    private Book book(Vendor owner) {
+        Book book = new Book("Title", "Author", null, BigDecimal.TEN);
+        book.setVendor(owner);
+        return book;
+    }
+}